@@ -0,0 +1,68 @@
+package tech.tablesaw.aggregate;
+
+import tech.tablesaw.columns.Column;
+
+/**
+ * The running state of an aggregate function, which is updated one value at a time rather than computed from a
+ * complete column.
+ *
+ * An accumulator is created empty by {@link AggregateFunction#accumulator()}, is given the values of a group in row
+ * order, and is then asked for the result. Accumulators of the same function over different parts of a group can be
+ * merged, so that the parts can be accumulated independently.
+ *
+ * @param <OUT> the type of the result
+ */
+public interface Accumulator<OUT> {
+
+    /**
+     * Adds a value that is not missing. Values of numeric columns are passed here
+     */
+    void accept(double value);
+
+    /**
+     * Adds a value that is not missing. Values of boolean columns are passed here, as 1 for true and 0 for false
+     */
+    default void accept(int value) {
+        accept((double) value);
+    }
+
+    /**
+     * Adds a value that is not missing. Values of long columns are passed here, so that accumulators that need them
+     * exactly can avoid rounding large values to doubles
+     */
+    default void accept(long value) {
+        accept((double) value);
+    }
+
+    /**
+     * Returns true if the values of columns that aren't numeric or boolean can be given to this accumulator, as hashes
+     * passed to {@link #acceptHash(long)}
+     */
+    default boolean acceptsHashes() {
+        return false;
+    }
+
+    /**
+     * Adds a value that is not missing, given as its {@link HyperLogLog#hash(Column, int) hash}. Values of columns
+     * that aren't numeric or boolean are passed here, if the accumulator {@link #acceptsHashes() accepts hashes}
+     */
+    default void acceptHash(long hash) {
+        throw new UnsupportedOperationException("This accumulator only accepts numeric and boolean values");
+    }
+
+    /**
+     * Records a missing value
+     */
+    default void acceptMissing() {
+    }
+
+    /**
+     * Adds the values given to another accumulator of the same function to this one
+     */
+    void merge(Accumulator<OUT> other);
+
+    /**
+     * Returns the result of the function over the values given so far
+     */
+    OUT finish();
+}
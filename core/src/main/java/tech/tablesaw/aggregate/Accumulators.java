@@ -0,0 +1,465 @@
+package tech.tablesaw.aggregate;
+
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * The accumulators used by the functions in {@link AggregateFunctions}. Each gives the same results as the function's
+ * summarize method, up to rounding: functions of no values are NaN, and missing values are skipped.
+ */
+final class Accumulators {
+
+    // Don't instantiate
+    private Accumulators() {}
+
+    /**
+     * The result of a reduction and the number of values it was computed from
+     */
+    interface Finisher {
+        double finish(double reduced, long count);
+    }
+
+    /**
+     * Returns an accumulator that maps each value, combines the mapped values with the given operator, and passes the
+     * result to the given finisher; or returns NaN if there are no values
+     */
+    static Accumulator<Double> reduce(DoubleUnaryOperator map, DoubleBinaryOperator combine, double identity,
+                                      Finisher finisher) {
+        return new Reduction(map, combine, identity, finisher);
+    }
+
+    static Accumulator<Double> sum(DoubleUnaryOperator map) {
+        return reduce(map, Double::sum, 0, (sum, count) -> sum);
+    }
+
+    static Accumulator<Double> mean() {
+        return new Moments(Moments::mean);
+    }
+
+    static Accumulator<Double> variance() {
+        return new Moments(Moments::variance);
+    }
+
+    static Accumulator<Double> populationVariance() {
+        return new Moments(m -> m.m2() / m.count);
+    }
+
+    static Accumulator<Double> stdDev() {
+        return new Moments(m -> Math.sqrt(m.variance()));
+    }
+
+    /**
+     * Returns an accumulator of the bias-corrected sample skewness, as computed by commons-math
+     */
+    static Accumulator<Double> skewness() {
+        return new CentralMoments(m -> {
+            if (m.count < 3) {
+                return Double.NaN;
+            }
+            double n = m.count;
+            double variance = m.m2 / (n - 1);
+            return variance < 10E-20 ? 0 : (n * m.m3) / ((n - 1) * (n - 2) * Math.sqrt(variance) * variance);
+        });
+    }
+
+    /**
+     * Returns an accumulator of the bias-corrected sample excess kurtosis, as computed by commons-math
+     */
+    static Accumulator<Double> kurtosis() {
+        return new CentralMoments(m -> {
+            if (m.count < 4) {
+                return Double.NaN;
+            }
+            double n = m.count;
+            double variance = m.m2 / (n - 1);
+            if (variance < 10E-20) {
+                return 0;
+            }
+            return (n * (n + 1) * m.m4 - 3 * m.m2 * m.m2 * (n - 1))
+                    / ((n - 1) * (n - 2) * (n - 3) * variance * variance);
+        });
+    }
+
+    static Accumulator<Double> range() {
+        return new MinMax();
+    }
+
+    static Accumulator<Integer> countPresent() {
+        return new Count(true, false);
+    }
+
+    static Accumulator<Integer> countMissing() {
+        return new Count(false, true);
+    }
+
+    static Accumulator<Integer> countAll() {
+        return new Count(true, true);
+    }
+
+    static <OUT> Accumulator<OUT> booleanCounts(Function<BooleanCounts<OUT>, OUT> finisher) {
+        return new BooleanCounts<>(finisher);
+    }
+
+    static Accumulator<Integer> countUniqueApprox() {
+        return new DistinctCount();
+    }
+
+    static Accumulator<Double> quantile(double q, double compression) {
+        return new Quantile(q, compression);
+    }
+
+    private static final class Reduction implements Accumulator<Double> {
+
+        private final DoubleUnaryOperator map;
+        private final DoubleBinaryOperator combine;
+        private final Finisher finisher;
+        private double reduced;
+        private long count;
+
+        Reduction(DoubleUnaryOperator map, DoubleBinaryOperator combine, double identity, Finisher finisher) {
+            this.map = map;
+            this.combine = combine;
+            this.reduced = identity;
+            this.finisher = finisher;
+        }
+
+        @Override
+        public void accept(double value) {
+            reduced = combine.applyAsDouble(reduced, map.applyAsDouble(value));
+            count++;
+        }
+
+        @Override
+        public void merge(Accumulator<Double> other) {
+            Reduction reduction = (Reduction) other;
+            reduced = combine.applyAsDouble(reduced, reduction.reduced);
+            count += reduction.count;
+        }
+
+        @Override
+        public Double finish() {
+            return count == 0 ? Double.NaN : finisher.finish(reduced, count);
+        }
+    }
+
+    /**
+     * The count, and the sum and sum of squares of the differences of the values from the first value. Shifting the
+     * values keeps the sums small, so the variance doesn't suffer from cancellation, and is exact when the values are
+     * small integers.
+     */
+    private static final class Moments implements Accumulator<Double> {
+
+        private final ToDoubleFunction<Moments> finisher;
+        private long count;
+        private double shift;
+        private double sum;
+        private double sumSq;
+
+        Moments(ToDoubleFunction<Moments> finisher) {
+            this.finisher = finisher;
+        }
+
+        @Override
+        public void accept(double value) {
+            if (count == 0) {
+                shift = value;
+            }
+            double d = value - shift;
+            sum += d;
+            sumSq += d * d;
+            count++;
+        }
+
+        @Override
+        public void merge(Accumulator<Double> other) {
+            Moments moments = (Moments) other;
+            if (moments.count == 0) {
+                return;
+            }
+            if (count == 0) {
+                shift = moments.shift;
+            }
+            // shift the other sums to this shift
+            double k = moments.shift - shift;
+            sumSq += moments.sumSq + 2 * k * moments.sum + moments.count * k * k;
+            sum += moments.sum + moments.count * k;
+            count += moments.count;
+        }
+
+        private double mean() {
+            return shift + sum / count;
+        }
+
+        /**
+         * Returns the sum of the squared differences of the values from their mean
+         */
+        private double m2() {
+            return Math.max(0, sumSq - sum * sum / count);
+        }
+
+        private double variance() {
+            return count == 1 ? 0 : m2() / (count - 1);
+        }
+
+        @Override
+        public Double finish() {
+            return count == 0 ? Double.NaN : finisher.applyAsDouble(this);
+        }
+    }
+
+    /**
+     * The count, mean, and sums of the second, third and fourth powers of the differences of the values from their
+     * mean, updated one value at a time and merged with the pairwise formulas of Pebay, which don't suffer from the
+     * cancellation of raw power sums
+     */
+    private static final class CentralMoments implements Accumulator<Double> {
+
+        private final ToDoubleFunction<CentralMoments> finisher;
+        private long count;
+        private double mean;
+        private double m2;
+        private double m3;
+        private double m4;
+
+        CentralMoments(ToDoubleFunction<CentralMoments> finisher) {
+            this.finisher = finisher;
+        }
+
+        @Override
+        public void accept(double value) {
+            double n1 = count;
+            double n = ++count;
+            double delta = value - mean;
+            double deltaN = delta / n;
+            double deltaN2 = deltaN * deltaN;
+            double term = delta * deltaN * n1;
+            mean += deltaN;
+            m4 += term * deltaN2 * (n * n - 3 * n + 3) + 6 * deltaN2 * m2 - 4 * deltaN * m3;
+            m3 += term * deltaN * (n - 2) - 3 * deltaN * m2;
+            m2 += term;
+        }
+
+        @Override
+        public void merge(Accumulator<Double> other) {
+            CentralMoments b = (CentralMoments) other;
+            if (b.count == 0) {
+                return;
+            }
+            double na = count;
+            double nb = b.count;
+            double n = na + nb;
+            double delta = b.mean - mean;
+            double delta2 = delta * delta;
+            double newM4 = m4 + b.m4
+                    + delta2 * delta2 * na * nb * (na * na - na * nb + nb * nb) / (n * n * n)
+                    + 6 * delta2 * (na * na * b.m2 + nb * nb * m2) / (n * n)
+                    + 4 * delta * (na * b.m3 - nb * m3) / n;
+            double newM3 = m3 + b.m3
+                    + delta2 * delta * na * nb * (na - nb) / (n * n)
+                    + 3 * delta * (na * b.m2 - nb * m2) / n;
+            m2 += b.m2 + delta2 * na * nb / n;
+            m3 = newM3;
+            m4 = newM4;
+            mean += delta * nb / n;
+            count += b.count;
+        }
+
+        @Override
+        public Double finish() {
+            return count == 0 ? Double.NaN : finisher.applyAsDouble(this);
+        }
+    }
+
+    private static final class MinMax implements Accumulator<Double> {
+
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+        private long count;
+
+        @Override
+        public void accept(double value) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            count++;
+        }
+
+        @Override
+        public void merge(Accumulator<Double> other) {
+            MinMax minMax = (MinMax) other;
+            min = Math.min(min, minMax.min);
+            max = Math.max(max, minMax.max);
+            count += minMax.count;
+        }
+
+        @Override
+        public Double finish() {
+            return count == 0 ? Double.NaN : max - min;
+        }
+    }
+
+    private static final class Count implements Accumulator<Integer> {
+
+        private final boolean countPresent;
+        private final boolean countMissing;
+        private int count;
+
+        Count(boolean countPresent, boolean countMissing) {
+            this.countPresent = countPresent;
+            this.countMissing = countMissing;
+        }
+
+        @Override
+        public void accept(double value) {
+            if (countPresent) {
+                count++;
+            }
+        }
+
+        @Override
+        public boolean acceptsHashes() {
+            return true;
+        }
+
+        @Override
+        public void acceptHash(long hash) {
+            if (countPresent) {
+                count++;
+            }
+        }
+
+        @Override
+        public void acceptMissing() {
+            if (countMissing) {
+                count++;
+            }
+        }
+
+        @Override
+        public void merge(Accumulator<Integer> other) {
+            count += ((Count) other).count;
+        }
+
+        @Override
+        public Integer finish() {
+            return count;
+        }
+    }
+
+    /**
+     * The numbers of true, false and missing values of a boolean column, from which all the boolean functions are
+     * computed
+     */
+    static final class BooleanCounts<OUT> implements Accumulator<OUT> {
+
+        private final Function<BooleanCounts<OUT>, OUT> finisher;
+        private int trueCount;
+        private int falseCount;
+        private int missingCount;
+
+        BooleanCounts(Function<BooleanCounts<OUT>, OUT> finisher) {
+            this.finisher = finisher;
+        }
+
+        int trueCount() {
+            return trueCount;
+        }
+
+        int falseCount() {
+            return falseCount;
+        }
+
+        int size() {
+            return trueCount + falseCount + missingCount;
+        }
+
+        @Override
+        public void accept(double value) {
+            if (value == 0) {
+                falseCount++;
+            } else {
+                trueCount++;
+            }
+        }
+
+        @Override
+        public void acceptMissing() {
+            missingCount++;
+        }
+
+        @Override
+        public void merge(Accumulator<OUT> other) {
+            BooleanCounts<OUT> counts = (BooleanCounts<OUT>) other;
+            trueCount += counts.trueCount;
+            falseCount += counts.falseCount;
+            missingCount += counts.missingCount;
+        }
+
+        @Override
+        public OUT finish() {
+            return finisher.apply(this);
+        }
+    }
+
+    private static final class DistinctCount implements Accumulator<Integer> {
+
+        private final HyperLogLog sketch = new HyperLogLog();
+
+        @Override
+        public void accept(double value) {
+            sketch.add(value);
+        }
+
+        @Override
+        public void accept(long value) {
+            sketch.add(value);
+        }
+
+        @Override
+        public boolean acceptsHashes() {
+            return true;
+        }
+
+        @Override
+        public void acceptHash(long hash) {
+            sketch.addHash(hash);
+        }
+
+        @Override
+        public void merge(Accumulator<Integer> other) {
+            sketch.merge(((DistinctCount) other).sketch);
+        }
+
+        @Override
+        public Integer finish() {
+            return (int) sketch.estimate();
+        }
+    }
+
+    private static final class Quantile implements Accumulator<Double> {
+
+        private final double q;
+        private final TDigest digest;
+
+        Quantile(double q, double compression) {
+            this.q = q;
+            this.digest = new TDigest(compression);
+        }
+
+        @Override
+        public void accept(double value) {
+            digest.add(value);
+        }
+
+        @Override
+        public void merge(Accumulator<Double> other) {
+            digest.merge(((Quantile) other).digest);
+        }
+
+        @Override
+        public Double finish() {
+            return digest.quantile(q);
+        }
+    }
+}
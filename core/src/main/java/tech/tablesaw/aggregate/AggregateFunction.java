@@ -38,6 +38,15 @@ public abstract class AggregateFunction<INCOL extends Column<?>, OUT> {
 
     public abstract OUT summarize(INCOL column);
 
+    /**
+     * Returns a new, empty accumulator for this function, or null if the function can only summarize a complete
+     * column. When every function applied to a column has an accumulator, the column can be summarized for all the
+     * groups of a table in a single scan, without copying the values of each group.
+     */
+    public Accumulator<OUT> accumulator() {
+        return null;
+    }
+
     public String toString() {
         return functionName();
     }
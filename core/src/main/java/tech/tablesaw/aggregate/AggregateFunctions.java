@@ -1,5 +1,6 @@
 package tech.tablesaw.aggregate;
 
+import com.google.common.base.Preconditions;
 import org.apache.commons.math3.stat.StatUtils;
 import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
 import org.apache.commons.math3.stat.descriptive.moment.Kurtosis;
@@ -63,6 +64,11 @@ public class AggregateFunctions {
             public Integer summarize(BooleanColumn column) {
                 return column.countTrue();
             }
+
+            @Override
+            public Accumulator<Integer> accumulator() {
+                return Accumulators.booleanCounts(counts -> counts.trueCount());
+            }
         };
     }
 
@@ -73,6 +79,11 @@ public class AggregateFunctions {
             public Integer summarize(BooleanColumn column) {
                 return (column).countFalse();
             }
+
+            @Override
+            public Accumulator<Integer> accumulator() {
+                return Accumulators.booleanCounts(counts -> counts.falseCount());
+            }
         };
     }
 
@@ -83,6 +94,11 @@ public class AggregateFunctions {
             public Boolean summarize(BooleanColumn column) {
                 return column.all();
             }
+
+            @Override
+            public Accumulator<Boolean> accumulator() {
+                return Accumulators.booleanCounts(counts -> counts.trueCount() == counts.size());
+            }
         };
     }
 
@@ -93,6 +109,11 @@ public class AggregateFunctions {
             public Boolean summarize(BooleanColumn column) {
                 return column.any();
             }
+
+            @Override
+            public Accumulator<Boolean> accumulator() {
+                return Accumulators.booleanCounts(counts -> counts.trueCount() > 0);
+            }
         };
     }
 
@@ -103,6 +124,11 @@ public class AggregateFunctions {
             public Boolean summarize(BooleanColumn column) {
                 return column.none();
             }
+
+            @Override
+            public Accumulator<Boolean> accumulator() {
+                return Accumulators.booleanCounts(counts -> counts.trueCount() == 0);
+            }
         };
     }
 
@@ -112,6 +138,12 @@ public class AggregateFunctions {
             public Double summarize(BooleanColumn column) {
                 return (column).proportionTrue();
             }
+
+            @Override
+            public Accumulator<Double> accumulator() {
+                return Accumulators.booleanCounts(
+                        counts -> (double) counts.trueCount() / (counts.trueCount() + counts.falseCount()));
+            }
         };
     }
 
@@ -121,6 +153,12 @@ public class AggregateFunctions {
             public Double summarize(BooleanColumn column) {
                 return (column).proportionFalse();
             }
+
+            @Override
+            public Accumulator<Double> accumulator() {
+                return Accumulators.booleanCounts(
+                        counts -> 1.0 - (double) counts.trueCount() / (counts.trueCount() + counts.falseCount()));
+            }
         };
     }
 
@@ -186,6 +224,11 @@ public class AggregateFunctions {
             public Integer summarize(Column<?> column) {
                 return column.size() - column.countMissing();
             }
+
+            @Override
+            public Accumulator<Integer> accumulator() {
+                return Accumulators.countPresent();
+            }
         };
     }
 
@@ -206,6 +249,11 @@ public class AggregateFunctions {
             public Integer summarize(Column<?> column) {
                 return column.countMissing();
             }
+
+            @Override
+            public Accumulator<Integer> accumulator() {
+                return Accumulators.countMissing();
+            }
         };
     }
 
@@ -222,6 +270,25 @@ public class AggregateFunctions {
         };
     }
 
+    /**
+     * A function that estimates the number of non-missing unique values in the column param, with a
+     * {@link HyperLogLog} sketch. It uses a small, fixed amount of memory however many values there are
+     */
+    public static CountFunction countUniqueApprox(String column) {
+        return new CountFunction("Approx. Count Unique", column) {
+
+            @Override
+            public Integer summarize(Column<?> column) {
+                return (int) HyperLogLog.of(column).estimate();
+            }
+
+            @Override
+            public Accumulator<Integer> accumulator() {
+                return Accumulators.countUniqueApprox();
+            }
+        };
+    }
+
     public static CountFunction countWithMissing(String column) {
         return new CountFunction("Count (incl. missing)", column) {
 
@@ -229,6 +296,11 @@ public class AggregateFunctions {
             public Integer summarize(Column<?> column) {
                 return column.size();
             }
+
+            @Override
+            public Accumulator<Integer> accumulator() {
+                return Accumulators.countAll();
+            }
         };
     }
 
@@ -242,6 +314,11 @@ public class AggregateFunctions {
             public Double summarize(NumericColumn<?> column) {
                 return StatUtils.mean(removeMissing(column));
             }
+
+            @Override
+            public Accumulator<Double> accumulator() {
+                return Accumulators.mean();
+            }
         };
     }
 
@@ -255,67 +332,82 @@ public class AggregateFunctions {
             public Double summarize(NumericColumn<?> column) {
                 return StatUtils.sum(removeMissing(column));
             }
+
+            @Override
+            public Accumulator<Double> accumulator() {
+                return Accumulators.sum(x -> x);
+            }
         };
     }
 
     public static NumericAggregateFunction median(String column) {
-        return new NumericAggregateFunction("Median", column) {
+        return new PercentileFunction("Median", column, 50.0);
+    }
 
-            @Override
-            public Double summarize(NumericColumn<?> column) {
-                return percentile(column, 50.0);
-            }
-        };
+    /**
+     * A function that estimates the median of the values in the column param with a {@link TDigest}, without copying
+     * or sorting them
+     */
+    public static NumericAggregateFunction medianApprox(String column) {
+        return percentileApprox("Approx. Median", column, 50.0, TDigest.DEFAULT_COMPRESSION);
     }
 
-    public static NumericAggregateFunction quartile1(String column) {
-        return new NumericAggregateFunction("First Quartile", column) {
+    /**
+     * A function that estimates the given percentile, from 0 to 100, of the values in the column param with a
+     * {@link TDigest} of the default compression
+     */
+    public static NumericAggregateFunction percentileApprox(String column, double percentile) {
+        return percentileApprox(column, percentile, TDigest.DEFAULT_COMPRESSION);
+    }
 
-            @Override
-            public Double summarize(NumericColumn<?> column) {
-                return percentile(column, 25.0);
-            }
-        };
+    /**
+     * A function that estimates the given percentile, from 0 to 100, of the values in the column param with a
+     * {@link TDigest} of the given compression. Higher compressions are more accurate, and use more memory.
+     */
+    public static NumericAggregateFunction percentileApprox(String column, double percentile, double compression) {
+        String name = percentile == Math.rint(percentile)
+                ? String.valueOf((long) percentile)
+                : String.valueOf(percentile);
+        return percentileApprox("Approx. Percentile " + name, column, percentile, compression);
     }
 
-    public static NumericAggregateFunction quartile3(String column) {
-        return new NumericAggregateFunction("Third Quartile", column) {
+    private static NumericAggregateFunction percentileApprox(String name, String column, double percentile,
+                                                            double compression) {
+        Preconditions.checkArgument(percentile >= 0 && percentile <= 100,
+                "The percentile must be between 0 and 100, but was %s", percentile);
+        Preconditions.checkArgument(compression >= 10, "The compression must be at least 10, but was %s", compression);
+        return new NumericAggregateFunction(name, column) {
 
             @Override
             public Double summarize(NumericColumn<?> column) {
-                return percentile(column, 75.0);
+                return TDigest.of(column, compression).quantile(percentile / 100);
             }
-        };
-    }
-
-    public static NumericAggregateFunction percentile90(String column) {
-        return new NumericAggregateFunction("90th Percentile", column) {
 
             @Override
-            public Double summarize(NumericColumn<?> column) {
-                return percentile(column, 90.0);
+            public Accumulator<Double> accumulator() {
+                return Accumulators.quantile(percentile / 100, compression);
             }
         };
     }
 
-    public static NumericAggregateFunction percentile95(String column) {
-        return new NumericAggregateFunction("95th Percentile", column) {
+    public static NumericAggregateFunction quartile1(String column) {
+        return new PercentileFunction("First Quartile", column, 25.0);
+    }
 
-            @Override
-            public Double summarize(NumericColumn<?> column) {
-                return percentile(column, 95.0);
-            }
-        };
+    public static NumericAggregateFunction quartile3(String column) {
+        return new PercentileFunction("Third Quartile", column, 75.0);
     }
 
-    public static NumericAggregateFunction percentile99(String column) {
-        return new NumericAggregateFunction("99th Percentile", column) {
+    public static NumericAggregateFunction percentile90(String column) {
+        return new PercentileFunction("90th Percentile", column, 90.0);
+    }
 
-            @Override
-            public Double summarize(NumericColumn<?> column) {
-                return percentile(column, 99.0);
-            }
-        };
+    public static NumericAggregateFunction percentile95(String column) {
+        return new PercentileFunction("95th Percentile", column, 95.0);
+    }
+
+    public static NumericAggregateFunction percentile99(String column) {
+        return new PercentileFunction("99th Percentile", column, 99.0);
     }
 
     public static NumericAggregateFunction range(String column) {
@@ -326,6 +418,11 @@ public class AggregateFunctions {
                 double[] data = removeMissing(column);
                 return StatUtils.max(data) - StatUtils.min(data);
             }
+
+            @Override
+            public Accumulator<Double> accumulator() {
+                return Accumulators.range();
+            }
         };
     }
 
@@ -336,6 +433,11 @@ public class AggregateFunctions {
             public Double summarize(NumericColumn<?> column) {
                 return StatUtils.min(removeMissing(column));
             }
+
+            @Override
+            public Accumulator<Double> accumulator() {
+                return Accumulators.reduce(x -> x, Math::min, Double.POSITIVE_INFINITY, (min, count) -> min);
+            }
         };
     }
 
@@ -346,6 +448,11 @@ public class AggregateFunctions {
             public Double summarize(NumericColumn<?> column) {
                 return StatUtils.max(removeMissing(column));
             }
+
+            @Override
+            public Accumulator<Double> accumulator() {
+                return Accumulators.reduce(x -> x, Math::max, Double.NEGATIVE_INFINITY, (max, count) -> max);
+            }
         };
     }
 
@@ -356,6 +463,11 @@ public class AggregateFunctions {
             public Double summarize(NumericColumn<?> column) {
                 return StatUtils.product(removeMissing(column));
             }
+
+            @Override
+            public Accumulator<Double> accumulator() {
+                return Accumulators.reduce(x -> x, (a, b) -> a * b, 1, (product, count) -> product);
+            }
         };
     }
 
@@ -366,6 +478,11 @@ public class AggregateFunctions {
             public Double summarize(NumericColumn<?> column) {
                 return StatUtils.geometricMean(removeMissing(column));
             }
+
+            @Override
+            public Accumulator<Double> accumulator() {
+                return Accumulators.reduce(Math::log, Double::sum, 0, (sumLog, count) -> Math.exp(sumLog / count));
+            }
         };
     }
 
@@ -376,6 +493,11 @@ public class AggregateFunctions {
             public Double summarize(NumericColumn<?> column) {
                 return StatUtils.populationVariance(removeMissing(column));
             }
+
+            @Override
+            public Accumulator<Double> accumulator() {
+                return Accumulators.populationVariance();
+            }
         };
     }
 
@@ -389,6 +511,11 @@ public class AggregateFunctions {
             public Double summarize(NumericColumn<?> column) {
                 return new DescriptiveStatistics(removeMissing(column)).getQuadraticMean();
             }
+
+            @Override
+            public Accumulator<Double> accumulator() {
+                return Accumulators.reduce(x -> x * x, Double::sum, 0, (sumSq, count) -> Math.sqrt(sumSq / count));
+            }
         };
     }
 
@@ -400,6 +527,11 @@ public class AggregateFunctions {
                 double[] data = removeMissing(column);
                 return new Kurtosis().evaluate(data, 0, data.length);
             }
+
+            @Override
+            public Accumulator<Double> accumulator() {
+                return Accumulators.kurtosis();
+            }
         };
     }
 
@@ -411,6 +543,11 @@ public class AggregateFunctions {
                 double[] data = removeMissing(column);
                 return new Skewness().evaluate(data, 0, data.length);
             }
+
+            @Override
+            public Accumulator<Double> accumulator() {
+                return Accumulators.skewness();
+            }
         };
     }
 
@@ -421,6 +558,11 @@ public class AggregateFunctions {
             public Double summarize(NumericColumn<?> column) {
                 return StatUtils.sumSq(removeMissing(column));
             }
+
+            @Override
+            public Accumulator<Double> accumulator() {
+                return Accumulators.sum(x -> x * x);
+            }
         };
     }
 
@@ -431,6 +573,11 @@ public class AggregateFunctions {
             public Double summarize(NumericColumn<?> column) {
                 return StatUtils.sumLog(removeMissing(column));
             }
+
+            @Override
+            public Accumulator<Double> accumulator() {
+                return Accumulators.sum(Math::log);
+            }
         };
     }
 
@@ -442,6 +589,11 @@ public class AggregateFunctions {
                 double[] values = removeMissing(column);
                 return StatUtils.variance(values);
             }
+
+            @Override
+            public Accumulator<Double> accumulator() {
+                return Accumulators.variance();
+            }
         };
     }
 
@@ -452,6 +604,11 @@ public class AggregateFunctions {
             public Double summarize(NumericColumn<?> column) {
                 return Math.sqrt(StatUtils.variance(removeMissing(column)));
             }
+
+            @Override
+            public Accumulator<Double> accumulator() {
+                return Accumulators.stdDev();
+            }
         };
     }
 
@@ -460,7 +617,7 @@ public class AggregateFunctions {
     }
 
     public static Double percentile(NumericColumn<?> data, Double percentile) {
-        return StatUtils.percentile(removeMissing(data), percentile);
+        return OrderStatistics.percentiles(data, percentile)[0];
     }
 
     private static double[] removeMissing(NumericColumn<?> column) {
@@ -0,0 +1,255 @@
+package tech.tablesaw.aggregate;
+
+import com.google.common.base.Preconditions;
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import tech.tablesaw.api.BooleanColumn;
+import tech.tablesaw.api.LongColumn;
+import tech.tablesaw.api.NumericColumn;
+import tech.tablesaw.api.StringColumn;
+import tech.tablesaw.api.TextColumn;
+import tech.tablesaw.columns.Column;
+
+import java.io.Serializable;
+
+/**
+ * A HyperLogLog sketch, which estimates the number of distinct values it has been given in a fixed amount of memory.
+ *
+ * Each value is hashed to 64 bits. The first {@code precision} bits of the hash choose one of 2^precision registers,
+ * and the register keeps the largest number of leading zeros seen in the rest of the hash, plus one. The estimate has
+ * a relative standard error of about 1.04 / sqrt(2^precision): 1.6% at the default precision of 12, where the
+ * registers take 4KB.
+ *
+ * While a sketch has seen few distinct values, it keeps their hashes instead of registers, and its estimate is exact
+ * unless two values have the same hash. This keeps the sketches of small groups small.
+ *
+ * Sketches with the same precision can be merged, giving the sketch of all the values given to either, so values can
+ * be counted in parts, on different threads or in different runs. Sketches are serializable, so they can be saved and
+ * merged later.
+ */
+public final class HyperLogLog implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final int DEFAULT_PRECISION = 12;
+
+    private static final int MIN_PRECISION = 4;
+    private static final int MAX_PRECISION = 18;
+
+    // the parameters of the 64-bit FNV-1a hash, used for strings and bytes
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    // the largest long such that it and all smaller non-negative longs are exactly representable as doubles
+    private static final long MAX_EXACT_LONG = 1L << 53;
+
+    private final int precision;
+
+    /**
+     * The hashes of the values seen, until there are too many to keep; then null
+     */
+    private LongOpenHashSet hashes = new LongOpenHashSet();
+
+    /**
+     * The registers, or null while the hashes are kept
+     */
+    private byte[] registers;
+
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    /**
+     * @param precision the number of bits of the hash used to choose a register, from 4 to 18
+     */
+    public HyperLogLog(int precision) {
+        Preconditions.checkArgument(precision >= MIN_PRECISION && precision <= MAX_PRECISION,
+                "The precision must be between %s and %s, but was %s", MIN_PRECISION, MAX_PRECISION, precision);
+        this.precision = precision;
+    }
+
+    /**
+     * Returns a sketch of the non-missing values in the given column, with the default precision
+     */
+    public static HyperLogLog of(Column<?> column) {
+        return of(column, DEFAULT_PRECISION);
+    }
+
+    /**
+     * Returns a sketch of the non-missing values in the given column, with the given precision
+     */
+    public static HyperLogLog of(Column<?> column, int precision) {
+        HyperLogLog sketch = new HyperLogLog(precision);
+        for (int row = 0; row < column.size(); row++) {
+            if (!column.isMissing(row)) {
+                sketch.addHash(hash(column, row));
+            }
+        }
+        return sketch;
+    }
+
+    public int precision() {
+        return precision;
+    }
+
+    /**
+     * Adds a numeric value. Values of boolean columns are added as 1 for true and 0 for false.
+     */
+    public void add(double value) {
+        addHash(hash(value));
+    }
+
+    /**
+     * Adds a long value. Values that are exactly representable as doubles are added the same way as by
+     * {@link #add(double)}, and larger values by all their bits, so that they aren't rounded together.
+     */
+    public void add(long value) {
+        addHash(hash(value));
+    }
+
+    /**
+     * Adds the value with the given 64-bit hash
+     */
+    public void addHash(long hash) {
+        if (registers == null) {
+            hashes.add(hash);
+            if (hashes.size() > maxHashes()) {
+                toRegisters();
+            }
+        } else {
+            addToRegisters(hash);
+        }
+    }
+
+    /**
+     * Adds the values of the given sketch to this one
+     *
+     * @throws IllegalArgumentException if the sketches have different precisions
+     */
+    public void merge(HyperLogLog other) {
+        Preconditions.checkArgument(precision == other.precision,
+                "Cannot merge a sketch with precision %s into one with precision %s", other.precision, precision);
+        if (other.registers == null) {
+            for (LongIterator it = other.hashes.iterator(); it.hasNext(); ) {
+                addHash(it.nextLong());
+            }
+            return;
+        }
+        if (registers == null) {
+            toRegisters();
+        }
+        for (int i = 0; i < registers.length; i++) {
+            registers[i] = (byte) Math.max(registers[i], other.registers[i]);
+        }
+    }
+
+    /**
+     * Returns the estimated number of distinct values added
+     */
+    public long estimate() {
+        if (registers == null) {
+            return hashes.size();
+        }
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = alpha(m) * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            // linear counting is more accurate for small cardinalities
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * Returns the number of hashes kept before switching to registers, when the hashes take about as much memory as
+     * the registers would
+     */
+    private int maxHashes() {
+        return (1 << precision) / 8;
+    }
+
+    private void toRegisters() {
+        registers = new byte[1 << precision];
+        for (LongIterator it = hashes.iterator(); it.hasNext(); ) {
+            addToRegisters(it.nextLong());
+        }
+        hashes = null;
+    }
+
+    private void addToRegisters(long hash) {
+        int index = (int) (hash >>> (Long.SIZE - precision));
+        // the rest of the hash, with a one bit below it so the count of leading zeros is bounded
+        long rest = (hash << precision) | (1L << (precision - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(rest) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+        }
+    }
+
+    private static double alpha(int m) {
+        switch (m) {
+            case 16:
+                return 0.673;
+            case 32:
+                return 0.697;
+            case 64:
+                return 0.709;
+            default:
+                return 0.7213 / (1 + 1.079 / m);
+        }
+    }
+
+    /**
+     * Returns a 64-bit hash of the given numeric value
+     */
+    static long hash(double value) {
+        // adding 0.0 turns -0.0 into 0.0, so that they hash the same. The bits of small integers are mostly zeros, so
+        // they need a full mix to spread them over the leading bits used for the index and rank
+        return HashCommon.murmurHash3(Double.doubleToLongBits(value + 0.0));
+    }
+
+    /**
+     * Returns a 64-bit hash of the given long value
+     */
+    static long hash(long value) {
+        if (value >= -MAX_EXACT_LONG && value <= MAX_EXACT_LONG) {
+            return hash((double) value);
+        }
+        return HashCommon.murmurHash3(value);
+    }
+
+    /**
+     * Returns a 64-bit hash of the value in the given row of the given column, as used by {@link #of(Column)}. Long
+     * values hash the same way as by {@link #add(long)}, other numeric and boolean values the same way as by
+     * {@link #add(double)}, strings by their characters, and values of other types by their bytes.
+     */
+    public static long hash(Column<?> column, int row) {
+        if (column instanceof LongColumn) {
+            return hash(((LongColumn) column).getLong(row));
+        } else if (column instanceof NumericColumn) {
+            return hash(((NumericColumn<?>) column).getDouble(row));
+        } else if (column instanceof BooleanColumn) {
+            return hash(((BooleanColumn) column).getByte(row));
+        } else if (column instanceof StringColumn || column instanceof TextColumn) {
+            String value = column.getUnformattedString(row);
+            long hash = FNV_OFFSET;
+            for (int i = 0; i < value.length(); i++) {
+                hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+            }
+            return HashCommon.murmurHash3(hash);
+        }
+        long hash = FNV_OFFSET;
+        for (byte b : column.asBytes(row)) {
+            hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+        }
+        return HashCommon.murmurHash3(hash);
+    }
+}
@@ -0,0 +1,161 @@
+package tech.tablesaw.aggregate;
+
+import com.google.common.base.Preconditions;
+import it.unimi.dsi.fastutil.doubles.DoubleArrays;
+import tech.tablesaw.api.NumericColumn;
+
+import java.util.Arrays;
+
+/**
+ * Computes exact percentiles, giving the same results as {@link org.apache.commons.math3.stat.StatUtils#percentile}.
+ *
+ * The values are copied once, skipping missing values. A single percentile is found by selection, which partially
+ * orders the copy in linear expected time; several percentiles share a single sort of the copy.
+ */
+public final class OrderStatistics {
+
+    // Ranges smaller than this are sorted rather than partitioned further
+    private static final int SORT_THRESHOLD = 16;
+
+    // Don't instantiate
+    private OrderStatistics() {}
+
+    /**
+     * Returns the given percentiles of the non-missing values in the given column, in the order given. Percentiles
+     * of no values are NaN.
+     *
+     * @param percentiles the percentiles, each greater than 0 and at most 100
+     */
+    public static double[] percentiles(NumericColumn<?> column, double... percentiles) {
+        double[] values = new double[column.size()];
+        int count = 0;
+        for (int row = 0; row < column.size(); row++) {
+            if (!column.isMissing(row)) {
+                values[count++] = column.getDouble(row);
+            }
+        }
+        return percentiles(values, 0, count, percentiles);
+    }
+
+    /**
+     * Returns the given percentiles of the values in the given range of the given array, in the order given. The
+     * values in the range are reordered.
+     *
+     * @param from the index of the first value, inclusive
+     * @param to   the index of the last value, exclusive
+     * @param percentiles the percentiles, each greater than 0 and at most 100
+     */
+    public static double[] percentiles(double[] values, int from, int to, double... percentiles) {
+        for (double percentile : percentiles) {
+            checkPercentile(percentile);
+        }
+        double[] results = new double[percentiles.length];
+        int n = to - from;
+        if (n == 0) {
+            Arrays.fill(results, Double.NaN);
+            return results;
+        }
+        if (percentiles.length == 1) {
+            results[0] = selectPercentile(values, from, to, percentiles[0]);
+            return results;
+        }
+        DoubleArrays.quickSort(values, from, to);
+        for (int i = 0; i < percentiles.length; i++) {
+            double position = position(percentiles[i], n);
+            int index = (int) Math.floor(position);
+            if (position < 1) {
+                results[i] = values[from];
+            } else if (position >= n) {
+                results[i] = values[to - 1];
+            } else {
+                results[i] = interpolate(values[from + index - 1], values[from + index], position - index);
+            }
+        }
+        return results;
+    }
+
+    static void checkPercentile(double percentile) {
+        Preconditions.checkArgument(percentile > 0 && percentile <= 100,
+                "The percentile must be greater than 0 and at most 100, but was %s", percentile);
+    }
+
+    private static double selectPercentile(double[] values, int from, int to, double percentile) {
+        int n = to - from;
+        double position = position(percentile, n);
+        int index = (int) Math.floor(position);
+        if (position < 1) {
+            return select(values, from, to, 0);
+        }
+        if (position >= n) {
+            return select(values, from, to, n - 1);
+        }
+        double lower = select(values, from, to, index - 1);
+        // the values after the one selected are all at least as large, so the next is the smallest of them
+        double upper = values[from + index];
+        for (int i = from + index + 1; i < to; i++) {
+            upper = Math.min(upper, values[i]);
+        }
+        return interpolate(lower, upper, position - index);
+    }
+
+    /**
+     * Returns the 1-based position of the given percentile among n sorted values, as estimated by commons-math
+     */
+    private static double position(double percentile, int n) {
+        return percentile == 100 ? n : percentile / 100 * (n + 1);
+    }
+
+    private static double interpolate(double lower, double upper, double fraction) {
+        return lower + fraction * (upper - lower);
+    }
+
+    /**
+     * Returns the k-th smallest value (counting from 0) in the given range, and reorders the range so that no value
+     * before the k-th is larger, and no value after it is smaller. Partitions around a median-of-three pivot, and falls
+     * back to sorting if partitioning makes too little progress, so the worst case is O(n log n).
+     */
+    static double select(double[] values, int from, int to, int k) {
+        int target = from + k;
+        int lo = from;
+        int hi = to - 1;
+        int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(to - from));
+        while (hi > lo) {
+            if (hi - lo < SORT_THRESHOLD || depthLimit-- == 0) {
+                DoubleArrays.quickSort(values, lo, hi + 1);
+                break;
+            }
+            double pivot = medianOfThree(values[lo], values[(lo + hi) >>> 1], values[hi]);
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (values[i] < pivot) {
+                    i++;
+                }
+                while (values[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    double t = values[i];
+                    values[i] = values[j];
+                    values[j] = t;
+                    i++;
+                    j--;
+                }
+            }
+            // now the values up to j are at most the pivot, those from i are at least the pivot, and those between
+            // are equal to it
+            if (target <= j) {
+                hi = j;
+            } else if (target >= i) {
+                lo = i;
+            } else {
+                break;
+            }
+        }
+        return values[target];
+    }
+
+    private static double medianOfThree(double a, double b, double c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+}
@@ -0,0 +1,32 @@
+package tech.tablesaw.aggregate;
+
+import tech.tablesaw.api.NumericColumn;
+
+/**
+ * A function that calculates an exact percentile of a numeric column.
+ *
+ * Percentile functions on the same column are recognized when a table or its groups are summarized, so that the
+ * values are copied, and sorted or selected, once for all of them; see {@link OrderStatistics}.
+ */
+public class PercentileFunction extends NumericAggregateFunction {
+
+    private final double percentile;
+
+    /**
+     * @param percentile the percentile, greater than 0 and at most 100
+     */
+    public PercentileFunction(String functionName, String columnName, double percentile) {
+        super(functionName, columnName);
+        OrderStatistics.checkPercentile(percentile);
+        this.percentile = percentile;
+    }
+
+    public double percentile() {
+        return percentile;
+    }
+
+    @Override
+    public Double summarize(NumericColumn<?> column) {
+        return OrderStatistics.percentiles(column, percentile)[0];
+    }
+}
@@ -14,20 +14,28 @@
 
 package tech.tablesaw.aggregate;
 
+import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import com.google.common.collect.ArrayListMultimap;
+import tech.tablesaw.api.BooleanColumn;
 import tech.tablesaw.api.CategoricalColumn;
 import tech.tablesaw.api.ColumnType;
+import tech.tablesaw.api.LongColumn;
+import tech.tablesaw.api.NumericColumn;
 import tech.tablesaw.api.Table;
 import tech.tablesaw.columns.Column;
+import tech.tablesaw.table.Relation;
 import tech.tablesaw.table.SelectionTableSliceGroup;
 import tech.tablesaw.table.StandardTableSliceGroup;
 import tech.tablesaw.table.TableSliceGroup;
+import tech.tablesaw.table.TimeBucket;
 import tech.tablesaw.util.StringUtils;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -40,15 +48,16 @@ import java.util.stream.Collectors;
  */
 public class Summarizer {
 
-    private final Table original;
+    private final Relation original;
     private final Table temp;
     private final ArrayListMultimap<String, AggregateFunction<?, ?>> reductionMultimap;
+    private int parallelism = 1;
 
     /**
      * Returns an object capable of summarizing the given column in the given sourceTable,
      * by applying the given functions
      */
-    public Summarizer(Table sourceTable, AggregateFunction<?, ?>... functions) {
+    public Summarizer(Relation sourceTable, AggregateFunction<?, ?>... functions) {
         this.temp = Table.create(sourceTable.name());
         this.original = sourceTable;
 
@@ -75,11 +84,25 @@ public class Summarizer {
         }
     }
 
+    /**
+     * Makes the by() methods that group on column values run on the given number of threads. The rows are split into
+     * ranges, which are grouped and aggregated concurrently, and the partial results are merged; the results are the
+     * same as on a single thread.
+     *
+     * @param parallelism The number of threads to use. A value of 1 (the default) summarizes on the calling thread
+     * @return This summarizer
+     */
+    public Summarizer parallel(int parallelism) {
+        Preconditions.checkArgument(parallelism > 0, "The parallelism level must be positive");
+        this.parallelism = parallelism;
+        return this;
+    }
+
     public Table by(String... columnNames) {
         for (String columnName : columnNames) {
             temp.addColumnsIgnoreExists(original.column(columnName));
         }
-        TableSliceGroup group = StandardTableSliceGroup.create(temp, columnNames);
+        TableSliceGroup group = StandardTableSliceGroup.create(temp, parallelism, columnNames);
         return summarize(group);
     }
 
@@ -87,7 +110,17 @@ public class Summarizer {
         for (Column<?> c : columns) {
             temp.addColumnsIgnoreExists(c);
         }
-        TableSliceGroup group = StandardTableSliceGroup.create(temp, columns);
+        TableSliceGroup group = StandardTableSliceGroup.create(temp, parallelism, columns);
+        return summarize(group);
+    }
+
+    /**
+     * Returns the summaries of the time intervals of the given bucket that hold any rows, in time order. The first
+     * column of the result holds the start of each interval.
+     */
+    public Table by(TimeBucket bucket) {
+        temp.addColumnsIgnoreExists(original.column(bucket.columnName()));
+        TableSliceGroup group = StandardTableSliceGroup.create(temp, parallelism, bucket);
         return summarize(group);
     }
 
@@ -96,6 +129,64 @@ public class Summarizer {
         return summarize(group);
     }
 
+    /**
+     * Returns the summaries of the groups formed by each of the given grouping sets, in one table: like calling
+     * {@link #by(String...)} once for each set and appending the results, except that the table is grouped only once.
+     * The result has a column for each column in any of the sets; in the rows of a set, the columns not in that set
+     * are missing. An empty set summarizes the whole table.
+     *
+     * The table is grouped on all the columns in the sets, and the other sets' groups are formed from those finest
+     * groups. The functions that have an {@link AggregateFunction#accumulator() accumulator} are computed in a single
+     * scan of the table, for the finest groups, and their states are merged for the other groups.
+     */
+    public Table groupingSets(List<List<String>> groupingSets) {
+        List<String> columnNames = groupingSets.stream().flatMap(List::stream).distinct().collect(Collectors.toList());
+        Preconditions.checkArgument(!columnNames.isEmpty(), "The grouping sets must include at least one column");
+        for (String columnName : columnNames) {
+            temp.addColumnsIgnoreExists(original.column(columnName));
+        }
+        TableSliceGroup group = StandardTableSliceGroup.create(temp, parallelism, columnNames.toArray(new String[0]));
+        return group.aggregate(reductionMultimap, groupingSets);
+    }
+
+    /**
+     * Returns the summaries of the groups formed by each leading subset of the given columns, from all of them down to
+     * none: the subtotals of a hierarchy, down to the grand total. For columns a, b and c, the grouping sets are
+     * (a, b, c), (a, b), (a) and (). See {@link #groupingSets(List)}.
+     */
+    public Table rollup(String... columnNames) {
+        List<List<String>> sets = new ArrayList<>();
+        for (int size = columnNames.length; size >= 0; size--) {
+            sets.add(Arrays.asList(columnNames).subList(0, size));
+        }
+        return groupingSets(sets);
+    }
+
+    /**
+     * Returns the summaries of the groups formed by every subset of the given columns, larger subsets first. For
+     * columns a and b, the grouping sets are (a, b), (a), (b) and (). See {@link #groupingSets(List)}.
+     */
+    public Table cube(String... columnNames) {
+        Preconditions.checkArgument(columnNames.length < Integer.SIZE - 1, "Too many columns to cube");
+        List<List<String>> sets = new ArrayList<>();
+        for (int size = columnNames.length; size >= 0; size--) {
+            // each subset is a bit mask, with the first column in the highest bit, so that subsets of the same size
+            // come in the order of their columns
+            for (int mask = (1 << columnNames.length) - 1; mask >= 0; mask--) {
+                if (Integer.bitCount(mask) == size) {
+                    List<String> set = new ArrayList<>();
+                    for (int i = 0; i < columnNames.length; i++) {
+                        if ((mask & (1 << (columnNames.length - 1 - i))) != 0) {
+                            set.add(columnNames[i]);
+                        }
+                    }
+                    sets.add(set);
+                }
+            }
+        }
+        return groupingSets(sets);
+    }
+
     /**
      * Returns the result of applying to the functions to all the values in the appropriate column
      * TODO add a test that uses a non numeric return type with apply
@@ -104,12 +195,15 @@ public class Summarizer {
     public Table apply() {
         List<Table> results = new ArrayList<>();
 
-        for (String name : this.reductionMultimap.keys()) {
+        for (String name : this.reductionMultimap.keySet()) {
             List<AggregateFunction<?, ?>> reductions = this.reductionMultimap.get(name);
             Table table = TableSliceGroup.summaryTableName(temp);
+            Column column = temp.column(name);
+            Map<AggregateFunction<?, ?>, Object> fused = new IdentityHashMap<>();
+            fused.putAll(percentiles(column, reductions));
+            fused.putAll(accumulate(column, reductions));
             for (AggregateFunction function : reductions) {
-                Column column = temp.column(name);
-                Object result = function.summarize(column);
+                Object result = fused.containsKey(function) ? fused.get(function) : function.summarize(column);
 
                 String columnName = !Strings.isNullOrEmpty(function.getAlias()) ? function.getAlias()
                         : TableSliceGroup.aggregateColumnName(name, function.functionName());
@@ -129,6 +223,87 @@ public class Summarizer {
         return combineTables(results);
     }
 
+    /**
+     * Returns the results of the percentile functions among the given functions, computed together from a single copy
+     * of the values in the given column
+     */
+    private static Map<AggregateFunction<?, ?>, Double> percentiles(Column<?> column,
+                                                                    List<AggregateFunction<?, ?>> functions) {
+        Map<AggregateFunction<?, ?>, Double> results = new IdentityHashMap<>();
+        List<PercentileFunction> percentileFunctions = new ArrayList<>();
+        for (AggregateFunction<?, ?> function : functions) {
+            if (function instanceof PercentileFunction) {
+                percentileFunctions.add((PercentileFunction) function);
+            }
+        }
+        if (percentileFunctions.size() < 2 || !(column instanceof NumericColumn)) {
+            return results;
+        }
+        double[] percentiles = percentileFunctions.stream().mapToDouble(PercentileFunction::percentile).toArray();
+        double[] values = OrderStatistics.percentiles((NumericColumn<?>) column, percentiles);
+        for (int i = 0; i < values.length; i++) {
+            results.put(percentileFunctions.get(i), values[i]);
+        }
+        return results;
+    }
+
+    /**
+     * Returns the results of the functions among the given functions that have accumulators, computed together in a
+     * single scan of the given column. Values of columns that aren't numeric or boolean are given to the accumulators
+     * that accept hashes as their hashes. Nothing is returned unless there are at least two such functions, since a
+     * lone function is as fast on its own.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Map<AggregateFunction<?, ?>, Object> accumulate(Column<?> column,
+                                                                   List<AggregateFunction<?, ?>> functions) {
+        Map<AggregateFunction<?, ?>, Object> results = new IdentityHashMap<>();
+        boolean hashed = !(column instanceof NumericColumn || column instanceof BooleanColumn);
+        List<AggregateFunction<?, ?>> accumulated = new ArrayList<>();
+        List<Accumulator<?>> states = new ArrayList<>();
+        for (AggregateFunction<?, ?> function : functions) {
+            Accumulator<?> state = function.accumulator();
+            if (state != null && (!hashed || state.acceptsHashes())) {
+                accumulated.add(function);
+                states.add(state);
+            }
+        }
+        if (states.size() < 2) {
+            return results;
+        }
+        Accumulator[] stateArray = states.toArray(new Accumulator[0]);
+        for (int row = 0; row < column.size(); row++) {
+            if (column.isMissing(row)) {
+                for (Accumulator state : stateArray) {
+                    state.acceptMissing();
+                }
+            } else if (column instanceof BooleanColumn) {
+                int value = ((BooleanColumn) column).getByte(row);
+                for (Accumulator state : stateArray) {
+                    state.accept(value);
+                }
+            } else if (column instanceof LongColumn) {
+                long value = ((LongColumn) column).getLong(row);
+                for (Accumulator state : stateArray) {
+                    state.accept(value);
+                }
+            } else if (hashed) {
+                long hash = HyperLogLog.hash(column, row);
+                for (Accumulator state : stateArray) {
+                    state.acceptHash(hash);
+                }
+            } else {
+                double value = ((NumericColumn<?>) column).getDouble(row);
+                for (Accumulator state : stateArray) {
+                    state.accept(value);
+                }
+            }
+        }
+        for (int i = 0; i < stateArray.length; i++) {
+            results.put(accumulated.get(i), stateArray[i].finish());
+        }
+        return results;
+    }
+
     /**
      * Associates the columns to be summarized with the functions that match their type. All valid combinations are used
      * @param group A table slice group
@@ -137,7 +312,7 @@ public class Summarizer {
     private Table summarize(TableSliceGroup group) {
         List<Table> results = new ArrayList<>();
 
-        for (String name : this.reductionMultimap.keys()) {
+        for (String name : this.reductionMultimap.keySet()) {
             List<AggregateFunction<?, ?>> reductions = this.reductionMultimap.get(name);
             results.add(group.aggregate(name, reductions.toArray(new AggregateFunction<?, ?>[0])));
         }
@@ -0,0 +1,237 @@
+package tech.tablesaw.aggregate;
+
+import com.google.common.base.Preconditions;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import tech.tablesaw.api.NumericColumn;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * A t-digest, which estimates the quantiles of the values it has been given in a small, bounded amount of memory.
+ *
+ * The values are summarized by centroids: a mean and the number of values near it. Centroids near the median may hold
+ * many values, while centroids in the tails hold few, so extreme quantiles like the 99th percentile are estimated much
+ * more accurately than the median. The size of the centroids is limited by the compression: the digest keeps at most
+ * about {@code compression} centroids, and higher compressions give more accurate estimates. At the default of 100,
+ * the error of a quantile estimate is usually well under 1% in rank, and much less in the tails.
+ *
+ * New values are buffered and merged into the centroids in batches. The buffer starts small and grows as values are
+ * added, up to five times the compression, so a digest of only a few values takes little memory.
+ *
+ * Digests can be merged, giving a digest of all the values given to either, so values can be summarized in parts, on
+ * different threads or in different runs. Digests are serializable, so they can be saved and merged later.
+ */
+public final class TDigest implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final double DEFAULT_COMPRESSION = 100;
+
+    private static final int INITIAL_BUFFER_SIZE = 8;
+
+    private static final double[] EMPTY = new double[0];
+
+    private final double compression;
+
+    private double[] means = EMPTY;
+    private double[] weights = EMPTY;
+
+    private final int maxBuffered;
+    private double[] buffer = EMPTY;
+    private int buffered;
+
+    private double totalWeight;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public TDigest() {
+        this(DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * @param compression bounds the number of centroids kept; must be at least 10
+     */
+    public TDigest(double compression) {
+        Preconditions.checkArgument(compression >= 10, "The compression must be at least 10, but was %s", compression);
+        this.compression = compression;
+        this.maxBuffered = (int) (5 * compression);
+    }
+
+    /**
+     * Returns a digest of the non-missing values in the given column, with the default compression
+     */
+    public static TDigest of(NumericColumn<?> column) {
+        return of(column, DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Returns a digest of the non-missing values in the given column, with the given compression
+     */
+    public static TDigest of(NumericColumn<?> column, double compression) {
+        TDigest digest = new TDigest(compression);
+        for (int row = 0; row < column.size(); row++) {
+            if (!column.isMissing(row)) {
+                digest.add(column.getDouble(row));
+            }
+        }
+        return digest;
+    }
+
+    public double compression() {
+        return compression;
+    }
+
+    /**
+     * Returns the number of values the buffer can hold before it must grow or be merged into the centroids
+     */
+    int bufferCapacity() {
+        return buffer.length;
+    }
+
+    /**
+     * Returns the number of values added
+     */
+    public long size() {
+        return (long) totalWeight + buffered;
+    }
+
+    /**
+     * Adds a value, which must not be NaN
+     */
+    public void add(double value) {
+        if (buffered == buffer.length) {
+            if (buffered < maxBuffered) {
+                int size = Math.min(maxBuffered, Math.max(INITIAL_BUFFER_SIZE, 2 * buffered));
+                buffer = Arrays.copyOf(buffer, size);
+            } else {
+                compress(null);
+            }
+        }
+        buffer[buffered++] = value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Adds the values of the given digest to this one. The digests may have different compressions; the result keeps
+     * the compression of this one.
+     */
+    public void merge(TDigest other) {
+        other.compress(null);
+        if (other.totalWeight == 0) {
+            return;
+        }
+        compress(other);
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Returns the estimated value at the given quantile, from 0 to 1, or NaN if no values have been added. The
+     * estimate is interpolated between the centroids, and is exact at 0 and 1, and whenever the values near the
+     * quantile each have their own centroid.
+     */
+    public double quantile(double q) {
+        Preconditions.checkArgument(q >= 0 && q <= 1, "The quantile must be between 0 and 1, but was %s", q);
+        compress(null);
+        int n = means.length;
+        if (n == 0) {
+            return Double.NaN;
+        }
+        if (q == 0) {
+            return min;
+        }
+        if (q == 1) {
+            return max;
+        }
+        // the index of the value wanted, counting each centroid's values as spread evenly around its mean
+        double index = q * (totalWeight - 1) + 0.5;
+        if (index < weights[0] / 2) {
+            return min + (means[0] - min) * (index - 0.5) / (weights[0] / 2 - 0.5);
+        }
+        if (index > totalWeight - weights[n - 1] / 2) {
+            double fromEnd = totalWeight - index;
+            return max - (max - means[n - 1]) * (fromEnd - 0.5) / (weights[n - 1] / 2 - 0.5);
+        }
+        double cumulative = weights[0] / 2;
+        for (int i = 0; i < n - 1; i++) {
+            double step = (weights[i] + weights[i + 1]) / 2;
+            if (cumulative + step >= index) {
+                return means[i] + (means[i + 1] - means[i]) * (index - cumulative) / step;
+            }
+            cumulative += step;
+        }
+        return means[n - 1];
+    }
+
+    /**
+     * Merges the buffered values, and the centroids of the given digest if it isn't null, into the centroids
+     */
+    private void compress(TDigest other) {
+        int otherCount = other == null ? 0 : other.means.length;
+        if (buffered == 0 && otherCount == 0) {
+            return;
+        }
+        int n = means.length + buffered + otherCount;
+        double[] m = new double[n];
+        double[] w = new double[n];
+        System.arraycopy(means, 0, m, 0, means.length);
+        System.arraycopy(weights, 0, w, 0, weights.length);
+        int k = means.length;
+        for (int i = 0; i < buffered; i++, k++) {
+            m[k] = buffer[i];
+            w[k] = 1;
+        }
+        if (other != null) {
+            System.arraycopy(other.means, 0, m, k, otherCount);
+            System.arraycopy(other.weights, 0, w, k, otherCount);
+            totalWeight += other.totalWeight;
+        }
+        totalWeight += buffered;
+        buffered = 0;
+
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        IntArrays.quickSort(order, (a, b) -> Double.compare(m[a], m[b]));
+
+        // merge neighbouring centroids as long as each covers at most one unit of the scale function
+        double[] newMeans = new double[n];
+        double[] newWeights = new double[n];
+        int last = 0;
+        newMeans[0] = m[order[0]];
+        newWeights[0] = w[order[0]];
+        double weightSoFar = 0;
+        double limit = totalWeight * nextQuantile(0);
+        for (int i = 1; i < n; i++) {
+            double mean = m[order[i]];
+            double weight = w[order[i]];
+            if (weightSoFar + newWeights[last] + weight <= limit) {
+                newWeights[last] += weight;
+                newMeans[last] += (mean - newMeans[last]) * weight / newWeights[last];
+            } else {
+                weightSoFar += newWeights[last];
+                limit = totalWeight * nextQuantile(weightSoFar / totalWeight);
+                last++;
+                newMeans[last] = mean;
+                newWeights[last] = weight;
+            }
+        }
+        means = Arrays.copyOf(newMeans, last + 1);
+        weights = Arrays.copyOf(newWeights, last + 1);
+    }
+
+    /**
+     * Returns the largest quantile that a centroid starting at the given quantile may reach. The scale function
+     * k(q) = compression / (2 pi) * asin(2q - 1) is steep near 0 and 1, which keeps the centroids in the tails small.
+     */
+    private double nextQuantile(double q) {
+        double k = compression / (2 * Math.PI) * Math.asin(2 * q - 1) + 1;
+        if (k >= compression / 4) {
+            return 1;
+        }
+        return (Math.sin(k * 2 * Math.PI / compression) + 1) / 2;
+    }
+}
@@ -489,6 +489,28 @@ public class StringColumn extends AbstractColumn<String>
         return lookupTable.getKeyForIndex(i);
     }
 
+    /**
+     * Returns the dictionary key of the value in the given row. Rows hold equal keys if and only if they hold equal
+     * values, but keys are specific to this column, and only valid until the column is next modified.
+     */
+    public int getKeyForIndex(int rowIndex) {
+        return lookupTable.getKeyForIndex(rowIndex);
+    }
+
+    /**
+     * Returns the dictionary key of the given value, or {@link DictionaryMap#NO_KEY} if the column doesn't contain it
+     */
+    public int getKeyForValue(String value) {
+        return lookupTable.getKeyForValue(value);
+    }
+
+    /**
+     * Returns the value for the given dictionary key
+     */
+    public String getValueForKey(int key) {
+        return lookupTable.getValueForKey(key);
+    }
+
     public double[] asDoubleArray() {
         double[] doubles = new double[data().size()];
         for (int i = 0; i < size(); i++) {
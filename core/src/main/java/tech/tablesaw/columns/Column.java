@@ -16,6 +16,7 @@ package tech.tablesaw.columns;
 
 import com.google.common.base.Preconditions;
 import it.unimi.dsi.fastutil.ints.IntComparator;
+import tech.tablesaw.aggregate.HyperLogLog;
 import tech.tablesaw.api.ColumnType;
 import tech.tablesaw.api.Table;
 import tech.tablesaw.selection.Selection;
@@ -62,6 +63,16 @@ public interface Column<T> extends Iterable<T>, Comparator<T> {
         return unique().size();
     }
 
+    /**
+     * Returns an estimate of the count of unique non-missing values in this column, made with a {@link HyperLogLog}
+     * sketch. Unlike {@link #countUnique()}, it doesn't hold the unique values in memory.
+     *
+     * @return the estimated count of unique values
+     */
+    default int countUniqueApprox() {
+        return (int) HyperLogLog.of(this).estimate();
+    }
+
     /**
      * Returns the column's name.
      *
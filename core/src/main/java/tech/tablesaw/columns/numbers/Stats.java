@@ -14,8 +14,6 @@
 
 package tech.tablesaw.columns.numbers;
 
-import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
-
 import tech.tablesaw.api.DoubleColumn;
 import tech.tablesaw.api.NumericColumn;
 import tech.tablesaw.api.StringColumn;
@@ -42,29 +40,64 @@ public class Stats {
         this.name = name;
     }
 
+    /**
+     * Returns the statistics of the non-missing values in the given column, all computed in a single pass over it
+     */
     public static Stats create(final NumericColumn<?> values) {
-        SummaryStatistics summaryStatistics = new SummaryStatistics();
+        long n = 0;
+        double sum = 0;
+        double sumOfSquares = 0;
+        double sumOfLogs = 0;
+        double min = Double.NaN;
+        double max = Double.NaN;
+        double mean = 0;
+        double secondMoment = 0;
         for (int i = 0; i < values.size(); i++) {
-            summaryStatistics.addValue(values.getDouble(i));
+            if (values.isMissing(i)) {
+                continue;
+            }
+            double value = values.getDouble(i);
+            n++;
+            sum += value;
+            sumOfSquares += value * value;
+            sumOfLogs += Math.log(value);
+            if (n == 1) {
+                min = value;
+                max = value;
+            } else {
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            // the running mean and sum of squared deviations, updated as in commons-math's SecondMoment
+            double deviation = value - mean;
+            double scaledDeviation = deviation / n;
+            mean += scaledDeviation;
+            secondMoment += (n - 1) * deviation * scaledDeviation;
         }
-        return getStats(values, summaryStatistics);
-    }
 
-    private static Stats getStats(NumericColumn<?> values, SummaryStatistics summaryStatistics) {
         Stats stats = new Stats("Column: " + values.name());
-        stats.min = summaryStatistics.getMin();
-        stats.max = summaryStatistics.getMax();
-        stats.n = summaryStatistics.getN();
-        stats.sum = summaryStatistics.getSum();
-        stats.variance = summaryStatistics.getVariance();
-        stats.populationVariance = summaryStatistics.getPopulationVariance();
-        stats.quadraticMean = summaryStatistics.getQuadraticMean();
-        stats.geometricMean = summaryStatistics.getGeometricMean();
-        stats.mean = summaryStatistics.getMean();
-        stats.standardDeviation = summaryStatistics.getStandardDeviation();
-        stats.sumOfLogs = summaryStatistics.getSumOfLogs();
-        stats.sumOfSquares = summaryStatistics.getSumsq();
-        stats.secondMoment = summaryStatistics.getSecondMoment();
+        stats.n = n;
+        stats.sum = sum;
+        stats.sumOfSquares = sumOfSquares;
+        stats.sumOfLogs = sumOfLogs;
+        stats.min = min;
+        stats.max = max;
+        if (n == 0) {
+            stats.mean = Double.NaN;
+            stats.secondMoment = Double.NaN;
+            stats.variance = Double.NaN;
+            stats.populationVariance = Double.NaN;
+            stats.geometricMean = Double.NaN;
+            stats.quadraticMean = Double.NaN;
+        } else {
+            stats.mean = mean;
+            stats.secondMoment = secondMoment;
+            stats.variance = n == 1 ? 0 : secondMoment / (n - 1);
+            stats.populationVariance = secondMoment / n;
+            stats.geometricMean = Math.exp(sumOfLogs / n);
+            stats.quadraticMean = Math.sqrt(sumOfSquares / n);
+        }
+        stats.standardDeviation = Math.sqrt(stats.variance);
         return stats;
     }
 
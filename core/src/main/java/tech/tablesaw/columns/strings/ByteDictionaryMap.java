@@ -63,10 +63,16 @@ public class ByteDictionaryMap implements DictionaryMap {
         valueToKey.put(value, key);
     }
 
-    private byte getKeyForValue(String value) {
+    private byte getByteKeyForValue(String value) {
         return valueToKey.getByte(value);
     }
 
+    @Override
+    public int getKeyForValue(String value) {
+        byte key = getByteKeyForValue(value);
+        return key == DEFAULT_RETURN_VALUE ? NO_KEY : key;
+    }
+
     /**
      * Returns the number of elements (a.k.a. rows or cells) in the column
      *
@@ -133,7 +139,7 @@ public class ByteDictionaryMap implements DictionaryMap {
         if (!contains(value)) {
             return 0;
         }
-        byte key = getKeyForValue(value);
+        byte key = getByteKeyForValue(value);
         int count = 0;
         for (byte k : values) {
             if (k == key) {
@@ -157,7 +163,7 @@ public class ByteDictionaryMap implements DictionaryMap {
     }
 
     public int firstIndexOf(String value) {
-        return values.indexOf(getKeyForValue(value));
+        return values.indexOf(getByteKeyForValue(value));
     }
 
     @Override
@@ -178,7 +184,7 @@ public class ByteDictionaryMap implements DictionaryMap {
     public Selection selectIsIn(String... strings) {
         ByteOpenHashSet keys = new ByteOpenHashSet();
         for (String string : strings) {
-            byte key = getKeyForValue(string);
+            byte key = getByteKeyForValue(string);
             if (key != DEFAULT_RETURN_VALUE) {
                 keys.add(key);
             }
@@ -198,7 +204,7 @@ public class ByteDictionaryMap implements DictionaryMap {
         ByteOpenHashSet keys = new ByteOpenHashSet();
 
         for (String string : strings) {
-            byte key = getKeyForValue(string);
+            byte key = getByteKeyForValue(string);
             if (key != DEFAULT_RETURN_VALUE) {
                 keys.add(key);
             }
@@ -220,7 +226,7 @@ public class ByteDictionaryMap implements DictionaryMap {
             key = MISSING_VALUE;
             put(key, StringColumnType.missingValueIndicator());
         } else {
-            key = getKeyForValue(value);
+            key = getByteKeyForValue(value);
         }
         if (key == DEFAULT_RETURN_VALUE) {
             key = getValueId();
@@ -260,7 +266,7 @@ public class ByteDictionaryMap implements DictionaryMap {
         if (stringValue != null) {
             str = stringValue;
         }
-        byte valueId = getKeyForValue(str);
+        byte valueId = getByteKeyForValue(str);
 
         if (valueId == DEFAULT_RETURN_VALUE) { // this is a new value not in dictionary
             valueId = getValueId();
@@ -314,7 +320,7 @@ public class ByteDictionaryMap implements DictionaryMap {
     @Override
     public Selection isEqualTo(String string) {
         Selection results = new BitmapBackedSelection();
-        byte key = getKeyForValue(string);
+        byte key = getByteKeyForValue(string);
         addValuesToSelection(results, key);
         return results;
     }
@@ -13,6 +13,12 @@ import java.util.Set;
 
 public interface DictionaryMap {
 
+    /**
+     * The value returned by {@link #getKeyForValue(String)} for a string that is not in the map. It is never the key
+     * of any string.
+     */
+    int NO_KEY = Integer.MIN_VALUE;
+
     void sortDescending();
 
     void sortAscending();
@@ -31,6 +37,11 @@ public interface DictionaryMap {
 
     int getKeyForIndex(int i);
 
+    /**
+     * Returns the key for the given string, or {@link #NO_KEY} if the string is not in the map
+     */
+    int getKeyForValue(String value);
+
     int firstIndexOf(String string);
 
     Object[] asObjectArray();
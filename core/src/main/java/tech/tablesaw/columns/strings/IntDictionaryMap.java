@@ -70,7 +70,8 @@ public class IntDictionaryMap implements DictionaryMap {
         valueToKey.put(value, key);
     }
 
-    private int getKeyForValue(String value) {
+    @Override
+    public int getKeyForValue(String value) {
         return valueToKey.getInt(value);
     }
 
@@ -71,10 +71,16 @@ public class ShortDictionaryMap implements DictionaryMap {
         valueToKey.put(value, key);
     }
 
-    private short getKeyForValue(String value) {
+    private short getShortKeyForValue(String value) {
         return valueToKey.getShort(value);
     }
 
+    @Override
+    public int getKeyForValue(String value) {
+        short key = getShortKeyForValue(value);
+        return key == DEFAULT_RETURN_VALUE ? NO_KEY : key;
+    }
+
     /**
      * Returns the number of elements (a.k.a. rows or cells) in the column
      *
@@ -141,7 +147,7 @@ public class ShortDictionaryMap implements DictionaryMap {
         if (!contains(value)) {
             return 0;
         }
-        short key = getKeyForValue(value);
+        short key = getShortKeyForValue(value);
         int count = 0;
         for (short k : values) {
             if (k == key) {
@@ -165,7 +171,7 @@ public class ShortDictionaryMap implements DictionaryMap {
     }
 
     public int firstIndexOf(String value) {
-        return values.indexOf(getKeyForValue(value));
+        return values.indexOf(getShortKeyForValue(value));
     }
 
     @Override
@@ -191,7 +197,7 @@ public class ShortDictionaryMap implements DictionaryMap {
     public Selection selectIsIn(String... strings) {
         ShortOpenHashSet keys = new ShortOpenHashSet(strings.length);
         for (String string : strings) {
-            short key = getKeyForValue(string);
+            short key = getShortKeyForValue(string);
             if (key != DEFAULT_RETURN_VALUE) {
                 keys.add(key);
             }
@@ -210,7 +216,7 @@ public class ShortDictionaryMap implements DictionaryMap {
     public Selection selectIsIn(Collection<String> strings) {
         ShortOpenHashSet keys = new ShortOpenHashSet(strings.size());
         for (String string : strings) {
-            short key = getKeyForValue(string);
+            short key = getShortKeyForValue(string);
             if (key != DEFAULT_RETURN_VALUE) {
                 keys.add(key);
             }
@@ -232,7 +238,7 @@ public class ShortDictionaryMap implements DictionaryMap {
             key = MISSING_VALUE;
             put(key, StringColumnType.missingValueIndicator());
         } else {
-            key = getKeyForValue(value);
+            key = getShortKeyForValue(value);
         }
         if (key == DEFAULT_RETURN_VALUE) {
             key = getValueId();
@@ -272,7 +278,7 @@ public class ShortDictionaryMap implements DictionaryMap {
         if (stringValue != null) {
             str = stringValue;
         }
-        short valueId = getKeyForValue(str);
+        short valueId = getShortKeyForValue(str);
         if (valueId == DEFAULT_RETURN_VALUE) {
             valueId = getValueId();
             put(valueId, str);
@@ -320,7 +326,7 @@ public class ShortDictionaryMap implements DictionaryMap {
     @Override
     public Selection isEqualTo(String string) {
         Selection results = new BitmapBackedSelection();
-        short key = getKeyForValue(string);
+        short key = getShortKeyForValue(string);
         addValuesToSelection(results, key);
         return results;
     }
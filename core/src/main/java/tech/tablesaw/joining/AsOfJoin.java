@@ -0,0 +1,198 @@
+package tech.tablesaw.joining;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import tech.tablesaw.api.ColumnType;
+import tech.tablesaw.columns.Column;
+import tech.tablesaw.columns.datetimes.DateTimeColumnType;
+import tech.tablesaw.columns.datetimes.PackedLocalDateTime;
+import tech.tablesaw.columns.numbers.LongColumnType;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * An as-of join, which matches each left row to the latest right row whose key is at or before the left row's key.
+ * Optionally, the rows must also be equal on some other columns (the "by" columns), such as a ticker symbol.
+ *
+ * The key columns are read as longs (the packed representation, in the case of a DateTimeColumn), and the two tables
+ * are merged in a single pass in key order, remembering the latest right row seen for each value of the by columns.
+ * Tables that are already sorted on their keys are merged as they are; otherwise, the row numbers are sorted first.
+ */
+final class AsOfJoin {
+
+    /**
+     * Leaves the search for a matching right row unbounded
+     */
+    static final LongUnaryOperator NO_TOLERANCE = key -> Long.MIN_VALUE;
+
+    private final Column<?>[] leftBy;
+    private final Column<?>[] rightBy;
+    private final Column<?> leftKey;
+    private final Column<?> rightKey;
+
+    /**
+     * @param leftColumns  the by columns of the left table, if any, followed by its key column
+     * @param rightColumns the by columns of the right table, if any, followed by its key column
+     */
+    AsOfJoin(Column<?>[] leftColumns, Column<?>[] rightColumns) {
+        JoinIndex.checkJoinColumns(leftColumns, rightColumns);
+        int last = leftColumns.length - 1;
+        this.leftKey = leftColumns[last];
+        this.rightKey = rightColumns[last];
+        if (!isAsOfKey(leftKey.type())) {
+            throw new IllegalArgumentException("As-of joins are supported on DateTime and Long columns. Column "
+                    + leftKey.name() + " is of type " + leftKey.type());
+        }
+        this.leftBy = Arrays.copyOf(leftColumns, last);
+        this.rightBy = Arrays.copyOf(rightColumns, last);
+    }
+
+    private static boolean isAsOfKey(ColumnType type) {
+        return type instanceof DateTimeColumnType || type instanceof LongColumnType;
+    }
+
+    /**
+     * Returns a function that gives the earliest right key that may be matched to a left key, for the given key column
+     * and the given maximum distance between the keys
+     */
+    static LongUnaryOperator tolerance(Column<?> keyColumn, Duration tolerance) {
+        if (!(keyColumn.type() instanceof DateTimeColumnType)) {
+            throw new IllegalArgumentException("A Duration tolerance requires a DateTime column. Column "
+                    + keyColumn.name() + " is of type " + keyColumn.type());
+        }
+        if (tolerance.isNegative()) {
+            throw new IllegalArgumentException("The tolerance must not be negative");
+        }
+        return key -> PackedLocalDateTime.pack(PackedLocalDateTime.asLocalDateTime(key).minus(tolerance));
+    }
+
+    /**
+     * Returns a function that gives the earliest right key that may be matched to a left key, for the given key column
+     * and the given maximum difference between the keys
+     */
+    static LongUnaryOperator tolerance(Column<?> keyColumn, long tolerance) {
+        if (!(keyColumn.type() instanceof LongColumnType)) {
+            throw new IllegalArgumentException("A numeric tolerance requires a Long column. Column "
+                    + keyColumn.name() + " is of type " + keyColumn.type());
+        }
+        if (tolerance < 0) {
+            throw new IllegalArgumentException("The tolerance must not be negative");
+        }
+        return key -> key < Long.MIN_VALUE + tolerance ? Long.MIN_VALUE : key - tolerance;
+    }
+
+    /**
+     * Returns one pair for each left row, in left row order. Left rows with no matching right row are paired with a
+     * missing row.
+     *
+     * @param earliestMatch gives, for a left key, the earliest right key that may be matched to it
+     */
+    RowPairs join(LongUnaryOperator earliestMatch) {
+        int[] leftOrder = sortedRows(leftKey);
+        int[] rightOrder = sortedRows(rightKey);
+        int[] leftRows = new int[leftOrder.length];
+        int[] matches = new int[leftOrder.length];
+        LatestRows latest = new LatestRows();
+        long missing = missingValue(leftKey.type());
+
+        int r = 0;
+        for (int leftRow : leftOrder) {
+            leftRows[leftRow] = leftRow;
+            matches[leftRow] = RowPairs.MISSING;
+            long key = JoinIndex.longKey(leftKey, leftRow);
+            if (key == missing) {
+                continue;
+            }
+            while (r < rightOrder.length && JoinIndex.longKey(rightKey, rightOrder[r]) <= key) {
+                int rightRow = rightOrder[r++];
+                if (JoinIndex.longKey(rightKey, rightRow) != missing) {
+                    latest.put(rightRow);
+                }
+            }
+            int match = latest.get(leftRow);
+            if (match != RowPairs.MISSING && JoinIndex.longKey(rightKey, match) >= earliestMatch.applyAsLong(key)) {
+                matches[leftRow] = match;
+            }
+        }
+        return RowPairs.wrap(leftRows, matches);
+    }
+
+    private static long missingValue(ColumnType type) {
+        return type instanceof DateTimeColumnType
+                ? DateTimeColumnType.missingValueIndicator()
+                : LongColumnType.missingValueIndicator();
+    }
+
+    /**
+     * Returns the row numbers of the given column in ascending key order. Rows with equal keys stay in row order, so
+     * the last of them is treated as the latest.
+     */
+    private static int[] sortedRows(Column<?> column) {
+        int[] rows = new int[column.size()];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = i;
+        }
+        if (!SortMergeJoin.isAscending(column)) {
+            IntArrays.mergeSort(rows, (a, b) -> Long.compare(JoinIndex.longKey(column, a), JoinIndex.longKey(column, b)));
+        }
+        return rows;
+    }
+
+    /**
+     * The latest right row seen so far for each distinct value of the by columns
+     */
+    private final class LatestRows {
+
+        private final boolean packed = JoinIndex.isPackable(rightBy);
+        private final Long2IntOpenHashMap packedRows = new Long2IntOpenHashMap();
+        private final Long2ObjectOpenHashMap<IntArrayList> rowsByHash = new Long2ObjectOpenHashMap<>();
+        private int latest = RowPairs.MISSING;
+
+        LatestRows() {
+            packedRows.defaultReturnValue(RowPairs.MISSING);
+        }
+
+        void put(int rightRow) {
+            if (rightBy.length == 0) {
+                latest = rightRow;
+            } else if (packed) {
+                packedRows.put(JoinIndex.packedKey(rightBy, rightRow), rightRow);
+            } else {
+                long hash = JoinIndex.keyHash(rightBy, rightRow);
+                IntArrayList rows = rowsByHash.get(hash);
+                if (rows == null) {
+                    rows = new IntArrayList(1);
+                    rowsByHash.put(hash, rows);
+                }
+                for (int i = 0; i < rows.size(); i++) {
+                    if (JoinIndex.keysEqual(rightBy, rows.getInt(i), rightBy, rightRow)) {
+                        rows.set(i, rightRow);
+                        return;
+                    }
+                }
+                rows.add(rightRow);
+            }
+        }
+
+        int get(int leftRow) {
+            if (rightBy.length == 0) {
+                return latest;
+            } else if (packed) {
+                return packedRows.get(JoinIndex.packedKey(leftBy, leftRow));
+            }
+            IntArrayList rows = rowsByHash.get(JoinIndex.keyHash(leftBy, leftRow));
+            if (rows != null) {
+                for (int i = 0; i < rows.size(); i++) {
+                    if (JoinIndex.keysEqual(rightBy, rows.getInt(i), leftBy, leftRow)) {
+                        return rows.getInt(i);
+                    }
+                }
+            }
+            return RowPairs.MISSING;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package tech.tablesaw.joining;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import tech.tablesaw.api.BooleanColumn;
+import tech.tablesaw.api.DateColumn;
+import tech.tablesaw.api.DateTimeColumn;
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.FloatColumn;
+import tech.tablesaw.api.IntColumn;
+import tech.tablesaw.api.LongColumn;
+import tech.tablesaw.api.ShortColumn;
+import tech.tablesaw.api.StringColumn;
+import tech.tablesaw.api.TextColumn;
+import tech.tablesaw.api.TimeColumn;
+import tech.tablesaw.columns.Column;
+
+/**
+ * Builds the output columns of a join, by copying ("gathering") the values at a list of row numbers from a source
+ * column into a new column, in one pass per column.
+ *
+ * A row number of {@link RowPairs#MISSING} produces a missing value in the output.
+ */
+final class ColumnGatherer {
+
+    // Don't instantiate
+    private ColumnGatherer() {}
+
+    /**
+     * Returns a new column with the same name and type as the given column, containing the values at the given rows
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    static Column<?> gather(Column<?> column, IntArrayList rows) {
+        if (column instanceof IntColumn) {
+            return gather((IntColumn) column, rows);
+        } else if (column instanceof LongColumn) {
+            return gather((LongColumn) column, rows);
+        } else if (column instanceof ShortColumn) {
+            return gather((ShortColumn) column, rows);
+        } else if (column instanceof DoubleColumn) {
+            return gather((DoubleColumn) column, rows);
+        } else if (column instanceof FloatColumn) {
+            return gather((FloatColumn) column, rows);
+        } else if (column instanceof BooleanColumn) {
+            return gather((BooleanColumn) column, rows);
+        } else if (column instanceof DateColumn) {
+            return gather((DateColumn) column, rows);
+        } else if (column instanceof DateTimeColumn) {
+            return gather((DateTimeColumn) column, rows);
+        } else if (column instanceof TimeColumn) {
+            return gather((TimeColumn) column, rows);
+        } else if (column instanceof StringColumn) {
+            return gather((StringColumn) column, rows);
+        } else if (column instanceof TextColumn) {
+            return gather((TextColumn) column, rows);
+        }
+        Column result = column.emptyCopy();
+        for (int i = 0; i < rows.size(); i++) {
+            int row = rows.getInt(i);
+            if (row == RowPairs.MISSING) {
+                result.appendMissing();
+            } else {
+                result.append(column, row);
+            }
+        }
+        return result;
+    }
+
+    private static IntColumn gather(IntColumn column, IntArrayList rows) {
+        IntColumn result = column.emptyCopy();
+        for (int i = 0; i < rows.size(); i++) {
+            int row = rows.getInt(i);
+            if (row == RowPairs.MISSING) {
+                result.appendMissing();
+            } else {
+                result.append(column.getInt(row));
+            }
+        }
+        return result;
+    }
+
+    private static LongColumn gather(LongColumn column, IntArrayList rows) {
+        LongColumn result = column.emptyCopy();
+        for (int i = 0; i < rows.size(); i++) {
+            int row = rows.getInt(i);
+            if (row == RowPairs.MISSING) {
+                result.appendMissing();
+            } else {
+                result.append(column.getLong(row));
+            }
+        }
+        return result;
+    }
+
+    private static ShortColumn gather(ShortColumn column, IntArrayList rows) {
+        ShortColumn result = column.emptyCopy();
+        for (int i = 0; i < rows.size(); i++) {
+            int row = rows.getInt(i);
+            if (row == RowPairs.MISSING) {
+                result.appendMissing();
+            } else {
+                result.append(column.getShort(row));
+            }
+        }
+        return result;
+    }
+
+    private static DoubleColumn gather(DoubleColumn column, IntArrayList rows) {
+        DoubleColumn result = column.emptyCopy();
+        for (int i = 0; i < rows.size(); i++) {
+            int row = rows.getInt(i);
+            if (row == RowPairs.MISSING) {
+                result.appendMissing();
+            } else {
+                result.append(column.getDouble(row));
+            }
+        }
+        return result;
+    }
+
+    private static FloatColumn gather(FloatColumn column, IntArrayList rows) {
+        FloatColumn result = column.emptyCopy();
+        for (int i = 0; i < rows.size(); i++) {
+            int row = rows.getInt(i);
+            if (row == RowPairs.MISSING) {
+                result.appendMissing();
+            } else {
+                result.append(column.getFloat(row));
+            }
+        }
+        return result;
+    }
+
+    private static BooleanColumn gather(BooleanColumn column, IntArrayList rows) {
+        BooleanColumn result = column.emptyCopy();
+        for (int i = 0; i < rows.size(); i++) {
+            int row = rows.getInt(i);
+            if (row == RowPairs.MISSING) {
+                result.appendMissing();
+            } else {
+                result.append(column.getByte(row));
+            }
+        }
+        return result;
+    }
+
+    private static DateColumn gather(DateColumn column, IntArrayList rows) {
+        DateColumn result = column.emptyCopy();
+        for (int i = 0; i < rows.size(); i++) {
+            int row = rows.getInt(i);
+            if (row == RowPairs.MISSING) {
+                result.appendMissing();
+            } else {
+                result.appendInternal(column.getIntInternal(row));
+            }
+        }
+        return result;
+    }
+
+    private static DateTimeColumn gather(DateTimeColumn column, IntArrayList rows) {
+        DateTimeColumn result = column.emptyCopy();
+        for (int i = 0; i < rows.size(); i++) {
+            int row = rows.getInt(i);
+            if (row == RowPairs.MISSING) {
+                result.appendMissing();
+            } else {
+                result.appendInternal(column.getLongInternal(row));
+            }
+        }
+        return result;
+    }
+
+    private static TimeColumn gather(TimeColumn column, IntArrayList rows) {
+        TimeColumn result = column.emptyCopy();
+        for (int i = 0; i < rows.size(); i++) {
+            int row = rows.getInt(i);
+            if (row == RowPairs.MISSING) {
+                result.appendMissing();
+            } else {
+                result.appendInternal(column.getIntInternal(row));
+            }
+        }
+        return result;
+    }
+
+    private static StringColumn gather(StringColumn column, IntArrayList rows) {
+        StringColumn result = column.emptyCopy();
+        for (int i = 0; i < rows.size(); i++) {
+            int row = rows.getInt(i);
+            if (row == RowPairs.MISSING) {
+                result.appendMissing();
+            } else {
+                result.append(column.get(row));
+            }
+        }
+        return result;
+    }
+
+    private static TextColumn gather(TextColumn column, IntArrayList rows) {
+        TextColumn result = column.emptyCopy();
+        for (int i = 0; i < rows.size(); i++) {
+            int row = rows.getInt(i);
+            if (row == RowPairs.MISSING) {
+                result.appendMissing();
+            } else {
+                result.append(column.get(row));
+            }
+        }
+        return result;
+    }
+}
@@ -1,44 +1,21 @@
 package tech.tablesaw.joining;
 
-import com.google.common.collect.Streams;
-import tech.tablesaw.api.BooleanColumn;
-import tech.tablesaw.api.ColumnType;
-import tech.tablesaw.api.DateColumn;
-import tech.tablesaw.api.DateTimeColumn;
-import tech.tablesaw.api.DoubleColumn;
-import tech.tablesaw.api.FloatColumn;
-import tech.tablesaw.api.IntColumn;
-import tech.tablesaw.api.LongColumn;
-import tech.tablesaw.api.Row;
-import tech.tablesaw.api.ShortColumn;
+import com.google.common.base.Preconditions;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import tech.tablesaw.api.StringColumn;
 import tech.tablesaw.api.Table;
-import tech.tablesaw.api.TimeColumn;
 import tech.tablesaw.columns.Column;
-import tech.tablesaw.columns.booleans.BooleanColumnType;
-import tech.tablesaw.columns.dates.DateColumnType;
-import tech.tablesaw.columns.datetimes.DateTimeColumnType;
-import tech.tablesaw.columns.numbers.DoubleColumnType;
-import tech.tablesaw.columns.numbers.FloatColumnType;
-import tech.tablesaw.columns.numbers.IntColumnType;
-import tech.tablesaw.columns.numbers.LongColumnType;
-import tech.tablesaw.columns.numbers.ShortColumnType;
-import tech.tablesaw.columns.strings.StringColumnType;
-import tech.tablesaw.columns.strings.TextColumnType;
-import tech.tablesaw.columns.times.TimeColumnType;
-import tech.tablesaw.index.ByteIndex;
-import tech.tablesaw.index.DoubleIndex;
-import tech.tablesaw.index.FloatIndex;
-import tech.tablesaw.index.IntIndex;
-import tech.tablesaw.index.LongIndex;
-import tech.tablesaw.index.ShortIndex;
-import tech.tablesaw.index.StringIndex;
 import tech.tablesaw.selection.BitmapBackedSelection;
 import tech.tablesaw.selection.Selection;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.LongUnaryOperator;
 
 public class DataFrameJoiner {
 
@@ -48,6 +25,8 @@ public class DataFrameJoiner {
     private final Column<?>[] columns;
     private final String[] columnNames;
     private AtomicInteger joinTableId = new AtomicInteger(2);
+    private int parallelism = 1;
+    private boolean bloomFilter = false;
 
     /**
      * Constructor.
@@ -64,6 +43,42 @@ public class DataFrameJoiner {
         }
     }
 
+    /**
+     * Makes the joins performed by this joiner run on the given number of threads.
+     *
+     * Both tables are partitioned on the hash of their join keys, and the partitions are joined concurrently.
+     * The result is the same as that of a single-threaded join.
+     *
+     * @param parallelism The number of threads to use. A value of 1 (the default) joins on the calling thread
+     * @return This joiner
+     */
+    public DataFrameJoiner parallel(int parallelism) {
+        Preconditions.checkArgument(parallelism > 0, "The parallelism level must be positive");
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Makes the hash joins performed by this joiner check each row of the joiner's table against a Bloom filter over
+     * the keys of the other table, before looking it up in the other table's index.
+     *
+     * This speeds up joins of a large table to a much smaller one, where most rows of the large table have no match.
+     * When most rows do match, the extra check is wasted, so it is off by default.
+     *
+     * The filter is used by the serial and the {@link #parallel(int) parallel} hash joins. A serial join doesn't use
+     * it when both tables are sorted on a single numeric, boolean or temporal key column, and are merge joined, nor
+     * when the single join column on each side is a StringColumn, and the tables are joined on their dictionary keys:
+     * neither looks rows up in an index, and each discards a row that has no match more cheaply than the filter
+     * could. Joins given a prebuilt {@link JoinIndex} don't use it either.
+     *
+     * @param enabled True to use a Bloom filter
+     * @return This joiner
+     */
+    public DataFrameJoiner bloomFilter(boolean enabled) {
+        this.bloomFilter = enabled;
+        return this;
+    }
+
     /**
      * Joins to the given tables assuming that they have a column of the name we're joining on
      *
@@ -81,12 +96,57 @@ public class DataFrameJoiner {
      * @param tables The tables to join with
      */
     public Table inner(boolean allowDuplicateColumnNames, Table... tables) {
+        if (allowDuplicateColumnNames) {
+            renameColumnsWithDuplicateNames(tables);
+        }
         Table joined = table;
+        for (Table table2 : innerPlan(tables).tables()) {
+            joined = joinInternal(joined, table2, false, false, columnNames);
+        }
+        return inArgumentOrder(joined, tables);
+    }
 
-        for (Table currT : tables) {
-            joined = joinInternal(joined, currT, false, allowDuplicateColumnNames, columnNames);
+    /**
+     * Returns the order in which {@link #inner(Table...)} would join the given tables. The tables are all joined on
+     * the same columns, so the join may be done in any order; they are ordered to keep the intermediate results small.
+     *
+     * @param tables The tables to join with
+     * @return The plan, which can be printed to show the order and the estimated size of each intermediate result
+     */
+    public JoinPlan innerPlan(Table... tables) {
+        return JoinPlan.create(table, columnNames, false, tables);
+    }
+
+    /**
+     * Returns the order in which {@link #leftOuter(Table...)} would join the given tables
+     *
+     * @param tables The tables to join with
+     * @return The plan, which can be printed to show the order and the estimated size of each intermediate result
+     */
+    public JoinPlan leftOuterPlan(Table... tables) {
+        return JoinPlan.create(table, columnNames, true, tables);
+    }
+
+    /**
+     * Returns a table with the columns of the given joined table in the order they would have if the given tables had
+     * been joined in argument order: the joiner's table, then each of the given tables without its join columns
+     */
+    private Table inArgumentOrder(Table joined, Table... tables) {
+        List<String> names = new ArrayList<>(table.columnNames());
+        for (Table table2 : tables) {
+            names.addAll(nonJoinColumnNames(table2));
         }
-        return joined;
+        return joined.select(names.toArray(new String[0]));
+    }
+
+    private List<String> nonJoinColumnNames(Table table2) {
+        List<String> names = new ArrayList<>();
+        for (String name : table2.columnNames()) {
+            if (Arrays.stream(columnNames).noneMatch(name::equalsIgnoreCase)) {
+                names.add(name);
+            }
+        }
+        return names;
     }
 
     /**
@@ -174,106 +234,137 @@ public class DataFrameJoiner {
         if (allowDuplicates) {
             renameColumnsWithDuplicateNames(table1, table2, col2Names);
         }
-        Table result = emptyTableFromColumns(table1, table2, col2Names);
-        for (Row row : table1) {
-            int ri = row.getRowNumber();
-            Table table1Rows = table1.where(Selection.with(ri));
-            Selection rowBitMapMultiCol = null;
-            for (int i = 0; i < columns.length; i++) {
-
-                // Need to use the column from table1 that is the same column originally
-                // defined for this DataFrameJoiner. Column names must be unique within the
-                // same table, so use the original column's name to get the corresponding
-                // column out of the table1 input Table.
-                Column<?> column = columns[i];
-                Column<?> table1Column = table1.column(column.name());
-
-                ColumnType type = table1Column.type();
-                // relies on both arrays, columns, and col2Names,
-                // having corresponding values at same index
-                String col2Name = col2Names[i];
-                Selection rowBitMapOneCol = null;
-                if (type instanceof DateColumnType) {
-                    IntIndex index = new IntIndex(table2.dateColumn(col2Name));
-                    DateColumn col1 = (DateColumn) table1Column;
-                    int value = col1.getIntInternal(ri);
-                    rowBitMapOneCol = index.get(value);
-                } else if (type instanceof DateTimeColumnType) {
-                    LongIndex index = new LongIndex(table2.dateTimeColumn(col2Name));
-                    DateTimeColumn col1 = (DateTimeColumn) table1Column;
-                    long value = col1.getLongInternal(ri);
-                    rowBitMapOneCol = index.get(value);
-                } else if (type instanceof TimeColumnType) {
-                    IntIndex index = new IntIndex(table2.timeColumn(col2Name));
-                    TimeColumn col1 = (TimeColumn) table1Column;
-                    int value = col1.getIntInternal(ri);
-                    rowBitMapOneCol = index.get(value);
-                } else if (type instanceof StringColumnType || type instanceof TextColumnType) {
-                    StringIndex index = new StringIndex(table2.stringColumn(col2Name));
-                    StringColumn col1 = (StringColumn) table1Column;
-                    String value = col1.get(ri);
-                    rowBitMapOneCol = index.get(value);
-                } else if (type instanceof IntColumnType) {
-                    IntIndex index = new IntIndex(table2.intColumn(col2Name));
-                    IntColumn col1 = (IntColumn) table1Column;
-                    int value = col1.getInt(ri);
-                    rowBitMapOneCol = index.get(value);
-                } else if (type instanceof LongColumnType) {
-                    LongIndex index = new LongIndex(table2.longColumn(col2Name));
-                    LongColumn col1 = (LongColumn) table1Column;
-                    long value = col1.getLong(ri);
-                    rowBitMapOneCol = index.get(value);
-                } else if (type instanceof ShortColumnType) {
-                    ShortIndex index = new ShortIndex(table2.shortColumn(col2Name));
-                    ShortColumn col1 = (ShortColumn) table1Column;
-                    short value = col1.getShort(ri);
-                    rowBitMapOneCol = index.get(value);
-                } else if (type instanceof BooleanColumnType) {
-                    ByteIndex index = new ByteIndex(table2.booleanColumn(col2Name));
-                    BooleanColumn col1 = (BooleanColumn) table1Column;
-                    byte value = col1.getByte(ri);
-                    rowBitMapOneCol = index.get(value);
-                } else if (type instanceof DoubleColumnType) {
-                    DoubleIndex index = new DoubleIndex(table2.doubleColumn(col2Name));
-                    DoubleColumn col1 = (DoubleColumn) table1Column;
-                    double value = col1.getDouble(ri);
-                    rowBitMapOneCol = index.get(value);
-                } else if (type instanceof FloatColumnType) {
-                    FloatIndex index = new FloatIndex(table2.floatColumn(col2Name));
-                    FloatColumn col1 = (FloatColumn) table1Column;
-                    float value = col1.getFloat(ri);
-                    rowBitMapOneCol = index.get(value);
-                } else {
-                    throw new IllegalArgumentException(
-                            "Joining is supported on numeric, string, and date-like columns. Column "
-                                    + table1Column.name() + " is of type " + table1Column.type());
+        return joinRelation(table1, table2, outer, col2Names).asTable();
+    }
+
+    /**
+     * Returns a relation holding the result of the join, without copying any columns
+     */
+    private JoinedRelation joinRelation(Table table1, Table table2, boolean outer, String... col2Names) {
+        // Need to use the columns from table1 that are the same columns originally
+        // defined for this DataFrameJoiner. Column names must be unique within the
+        // same table, so use the original column's name to get the corresponding
+        // column out of the table1 input Table.
+        Column<?>[] table1Columns = table1Columns(table1);
+
+        Column<?>[] table2Columns = table2.columns(col2Names).toArray(new Column<?>[0]);
+        JoinIndex.checkJoinColumns(table1Columns, table2Columns);
+
+        RowPairs rowPairs = joinRows(table1Columns, table2Columns, table2, outer, col2Names);
+        return new JoinedRelation(table1, table2, rowPairs, col2Names);
+    }
+
+    /**
+     * Returns the matching rows of the given join columns, using the fastest join strategy that applies
+     */
+    private RowPairs joinRows(Column<?>[] table1Columns, Column<?>[] table2Columns, Table table2, boolean outer,
+                              String... col2Names) {
+        if (parallelism > 1) {
+            JoinBloomFilter filter = bloomFilter ? new JoinBloomFilter(table2Columns) : null;
+            return new ParallelHashJoin(parallelism).join(table1Columns, table2, col2Names, filter, outer);
+        } else if (SortMergeJoin.canJoin(table1Columns, table2Columns)) {
+            return SortMergeJoin.join(table1Columns[0], table2Columns[0], outer);
+        } else if (DictionaryJoin.canJoin(table1Columns, table2Columns)) {
+            return DictionaryJoin.join((StringColumn) table1Columns[0], (StringColumn) table2Columns[0], outer);
+        }
+        return hashJoin(table1Columns, table2Columns, table2, outer, col2Names);
+    }
+
+    /**
+     * Builds an index over the join columns of table2 once, and probes it with each row of table1
+     */
+    private RowPairs hashJoin(Column<?>[] table1Columns, Column<?>[] table2Columns, Table table2, boolean outer,
+                              String... col2Names) {
+        JoinBloomFilter filter = bloomFilter ? new JoinBloomFilter(table2Columns) : null;
+        return probe(new JoinIndex(table2, col2Names), filter, table1Columns, outer);
+    }
+
+    /**
+     * Probes the given index with each row of the given columns
+     *
+     * @param filter a filter over the keys of the index, used to skip rows that can't match, or null to probe every row
+     */
+    private static RowPairs probe(JoinIndex index, JoinBloomFilter filter, Column<?>[] table1Columns, boolean outer) {
+        RowPairs rowPairs = new RowPairs(table1Columns[0].size());
+        for (int ri = 0; ri < table1Columns[0].size(); ri++) {
+            boolean mayMatch = filter == null || filter.mightContain(table1Columns, ri);
+            IntArrayList matches = mayMatch ? index.get(table1Columns, ri) : null;
+            if (matches == null || matches.isEmpty()) {
+                if (outer) {
+                    rowPairs.add(ri, RowPairs.MISSING);
                 }
-                // combine Selection's into one big AND Selection
-                if (rowBitMapOneCol != null) {
-                    rowBitMapMultiCol =
-                            rowBitMapMultiCol != null
-                            ? rowBitMapMultiCol.and(rowBitMapOneCol)
-                            : rowBitMapOneCol;
+            } else {
+                for (int i = 0; i < matches.size(); i++) {
+                    rowPairs.add(ri, matches.getInt(i));
                 }
             }
+        }
+        return rowPairs;
+    }
 
-            Table table2Rows = table2.where(rowBitMapMultiCol);
-            table2Rows.removeColumns(col2Names);
-            if (outer && table2Rows.isEmpty()) {
-                withMissingLeftJoin(result, table1Rows);
-            } else {
-                crossProduct(result, table1Rows, table2Rows);
-            }
+    /**
+     * Returns the columns in the given table that correspond to the join columns of this joiner
+     */
+    private Column<?>[] table1Columns(Table table1) {
+        Column<?>[] table1Columns = new Column<?>[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            table1Columns[i] = table1.column(columns[i].name());
+        }
+        return table1Columns;
+    }
+
+    /**
+     * Joins the joiner's table to the table the given index was built from, using the index rather than building a
+     * new one. The index may be shared by any number of joins, including joins on other threads.
+     *
+     * @param index An index over the columns of the other table that correspond to this joiner's columns
+     * @return The resulting table
+     */
+    public Table inner(JoinIndex index) {
+        return joinWithIndex(index, false);
+    }
+
+    /**
+     * Joins the joiner's table to the table the given index was built from, using the index rather than building a
+     * new one, and keeping the rows of the joiner's table that have no match. The index may be shared by any number
+     * of joins, including joins on other threads.
+     *
+     * @param index An index over the columns of the other table that correspond to this joiner's columns
+     * @return The resulting table
+     */
+    public Table leftOuter(JoinIndex index) {
+        return joinWithIndex(index, true);
+    }
+
+    private Table joinWithIndex(JoinIndex index, boolean outer) {
+        Column<?>[] table1Columns = table1Columns(table);
+        index.checkProbeColumns(table1Columns);
+        RowPairs rowPairs = probe(index, null, table1Columns, outer);
+        return rowPairs.materialize(table, index.table(), index.columnNames().toArray(new String[0]));
+    }
+
+    /**
+     * Renames the columns of the given tables that would have the same name as an earlier column if the tables were
+     * joined to the joiner's table in argument order
+     */
+    private void renameColumnsWithDuplicateNames(Table... tables) {
+        List<String> names = new ArrayList<>(table.columnNames());
+        for (Table table2 : tables) {
+            renameColumnsWithDuplicateNames(names, table2, columnNames);
+            names.addAll(nonJoinColumnNames(table2));
         }
-        return result;
     }
 
     private void renameColumnsWithDuplicateNames(Table table1, Table table2, String... col2Names) {
+        renameColumnsWithDuplicateNames(table1.columnNames(), table2, col2Names);
+    }
+
+    private void renameColumnsWithDuplicateNames(List<String> table1ColumnNames, Table table2, String... col2Names) {
         String table2Alias = TABLE_ALIAS + joinTableId.getAndIncrement();
         List<String> list = Arrays.asList(col2Names);
         for (Column<?> table2Column : table2.columns()) {
             String columnName = table2Column.name();
-            if (table1.columnNames().stream().anyMatch(columnName::equalsIgnoreCase)
+            if (table1ColumnNames.stream().anyMatch(columnName::equalsIgnoreCase)
                     && !(list.stream().anyMatch(columnName::equalsIgnoreCase))) {
                 table2Column.setName(newName(table2Alias, columnName));
             }
@@ -334,99 +425,38 @@ public class DataFrameJoiner {
      *                  rounding to integers.
      * @return The resulting table
      */
+    @SuppressWarnings({"rawtypes", "unchecked"})
     public Table fullOuter(Table table1, Table table2, boolean allowDuplicateColumnNames, String... col2Names) {
-        Table result = joinInternal(table1, table2, true, allowDuplicateColumnNames, col2Names);
-
-        Selection selection = new BitmapBackedSelection();
-        for (Row row : table2) {
-            int ri = row.getRowNumber();
-            Selection rowBitMapMultiCol = null;
-
-            for (int i = 0; i < columns.length; i++) {
-
-                // Need to use the column from table1 that is the same column originally
-                // defined for this DataFrameJoiner. Column names must be unique within the
-                // same table, so use the original column's name to get the corresponding
-                // column out of the table1 input Table.
-                Column<?> column = columns[i];
-                Column<?> table1Column = table1.column(column.name());
-
-                ColumnType type = table1Column.type();
-                // relies on both arrays, columns, and col2Names,
-                // having corresponding values at same index
-                String col2Name = col2Names[i];
-                Selection rowBitMapOneCol = null;
-
-                if (type instanceof DateColumnType) {
-                    IntIndex index = new IntIndex(result.dateColumn(col2Name));
-                    DateColumn col2 = (DateColumn) table2.column(col2Name);
-                    int value = col2.getIntInternal(ri);
-                    rowBitMapOneCol = index.get(value);
-                } else if (type instanceof DateTimeColumnType) {
-                    LongIndex index = new LongIndex(result.dateTimeColumn(col2Name));
-                    DateTimeColumn col2 = (DateTimeColumn) table2.column(col2Name);
-                    long value = col2.getLongInternal(ri);
-                    rowBitMapOneCol = index.get(value);
-                } else if (type instanceof TimeColumnType) {
-                    IntIndex index = new IntIndex(result.timeColumn(col2Name));
-                    TimeColumn col2 = (TimeColumn) table2.column(col2Name);
-                    int value = col2.getIntInternal(ri);
-                    rowBitMapOneCol = index.get(value);
-                } else if (type instanceof StringColumnType || type instanceof TextColumnType) {
-                    StringIndex index = new StringIndex(result.stringColumn(col2Name));
-                    StringColumn col2 = (StringColumn) table2.column(col2Name);
-                    String value = col2.get(ri);
-                    rowBitMapOneCol = index.get(value);
-                } else if (type instanceof IntColumnType) {
-                    IntIndex index = new IntIndex(result.intColumn(col2Name));
-                    IntColumn col2 = (IntColumn) table2.column(col2Name);
-                    int value = col2.getInt(ri);
-                    rowBitMapOneCol = index.get(value);
-                } else if (type instanceof LongColumnType) {
-                    LongIndex index = new LongIndex(result.longColumn(col2Name));
-                    LongColumn col2 = (LongColumn) table2.column(col2Name);
-                    long value = col2.getLong(ri);
-                    rowBitMapOneCol = index.get(value);
-                } else if (type instanceof ShortColumnType) {
-                    ShortIndex index = new ShortIndex(result.shortColumn(col2Name));
-                    ShortColumn col2 = (ShortColumn) table2.column(col2Name);
-                    short value = col2.getShort(ri);
-                    rowBitMapOneCol = index.get(value);
-                } else if (type instanceof BooleanColumnType) {
-                    ByteIndex index = new ByteIndex(result.booleanColumn(col2Name));
-                    BooleanColumn col2 = (BooleanColumn) table2.column(col2Name);
-                    byte value = col2.getByte(ri);
-                    rowBitMapOneCol = index.get(value);
-                } else if (type instanceof DoubleColumnType) {
-                    DoubleIndex index = new DoubleIndex(result.doubleColumn(col2Name));
-                    DoubleColumn col2 = (DoubleColumn) table2.column(col2Name);
-                    double value = col2.getDouble(ri);
-                    rowBitMapOneCol = index.get(value);
-                } else if (type instanceof FloatColumnType) {
-                    FloatIndex index = new FloatIndex(result.floatColumn(col2Name));
-                    FloatColumn col2 = (FloatColumn) table2.column(col2Name);
-                    float value = col2.getFloat(ri);
-                    rowBitMapOneCol = index.get(value);
-                } else {
-                    throw new IllegalArgumentException(
-                            "Joining is supported on numeric, string, and date-like columns. Column "
-                                    + table1Column.name() + " is of type " + table1Column.type());
-                }
-                // combine Selections into one big AND Selection
-                if (rowBitMapOneCol != null) {
-                    rowBitMapMultiCol = rowBitMapMultiCol != null
-                            ? rowBitMapMultiCol.and(rowBitMapOneCol)
-                            : rowBitMapOneCol;
-                }
+        if (allowDuplicateColumnNames) {
+            renameColumnsWithDuplicateNames(table1, table2, col2Names);
+        }
+        Column<?>[] table1Columns = table1Columns(table1);
+        Column<?>[] table2Columns = table2.columns(col2Names).toArray(new Column<?>[0]);
+        JoinIndex.checkJoinColumns(table1Columns, table2Columns);
+        RowPairs rowPairs = joinRows(table1Columns, table2Columns, table2, true, col2Names);
+
+        // mark the rows of table2 that were matched, and add the others, paired with a missing row of table1
+        BitSet matched = new BitSet(table2.rowCount());
+        IntArrayList rightRows = rowPairs.rightRows();
+        for (int i = 0; i < rightRows.size(); i++) {
+            if (rightRows.getInt(i) != RowPairs.MISSING) {
+                matched.set(rightRows.getInt(i));
             }
-            if (rowBitMapMultiCol.isEmpty()) {
-                selection.add(ri);
+        }
+        int firstUnmatched = rowPairs.size();
+        for (int r2 = matched.nextClearBit(0); r2 < table2.rowCount(); r2 = matched.nextClearBit(r2 + 1)) {
+            rowPairs.add(RowPairs.MISSING, r2);
+        }
+        Table result = rowPairs.materialize(table1, table2, col2Names);
+
+        // the join columns of the unmatched rows of table2 take their values from table2
+        for (int c = 0; c < table1Columns.length; c++) {
+            Column resultColumn = result.column(table1.columnIndex(table1Columns[c]));
+            Column table2Column = table2Columns[c];
+            for (int i = firstUnmatched; i < rowPairs.size(); i++) {
+                resultColumn.set(i, table2Column, rightRows.getInt(i));
             }
         }
-        Table table2OnlyRows = table2.where(selection);
-        List<Column<?>> joinColumns = table2OnlyRows.columns(col2Names);
-        table2OnlyRows.removeColumns(col2Names);
-        withMissingRightJoin(result, joinColumns, table2OnlyRows);
         return result;
     }
 
@@ -449,11 +479,14 @@ public class DataFrameJoiner {
      * @return The resulting table
      */
     public Table leftOuter(boolean allowDuplicateColumnNames, Table... tables) {
+        if (allowDuplicateColumnNames) {
+            renameColumnsWithDuplicateNames(tables);
+        }
         Table joined = table;
-        for (Table table2 : tables) {
-            joined = leftOuter(table2, allowDuplicateColumnNames, columnNames);
+        for (Table table2 : leftOuterPlan(tables).tables()) {
+            joined = joinInternal(joined, table2, true, false, columnNames);
         }
-        return joined;
+        return inArgumentOrder(joined, tables);
     }
 
     /**
@@ -494,6 +527,31 @@ public class DataFrameJoiner {
         return joinInternal(table, table2, true, allowDuplicateColumnNames, col2Names);
     }
 
+    /**
+     * Joins the joiner to table2, using the given columns for the second table, and returns the result as a relation
+     * whose columns are only copied from the joined tables when they are first used. This saves time and memory
+     * when only some of the columns of the result are needed.
+     *
+     * @param table2    The table to join with
+     * @param col2Names The columns of table2 to join on
+     * @return The resulting relation
+     */
+    public JoinedRelation innerView(Table table2, String... col2Names) {
+        return joinRelation(table, table2, false, col2Names);
+    }
+
+    /**
+     * Left outer joins the joiner to table2, using the given columns for the second table, and returns the result as
+     * a relation whose columns are only copied from the joined tables when they are first used
+     *
+     * @param table2    The table to join with
+     * @param col2Names The columns of table2 to join on
+     * @return The resulting relation
+     */
+    public JoinedRelation leftOuterView(Table table2, String... col2Names) {
+        return joinRelation(table, table2, true, col2Names);
+    }
+
     /**
      * Joins to the given tables assuming that they have a column of the name we're joining on
      *
@@ -556,7 +614,8 @@ public class DataFrameJoiner {
      */
 
     public Table rightOuter(Table table2, boolean allowDuplicateColumnNames, String... col2Names) {
-        Table leftOuter = table2.join(col2Names).leftOuter(table, allowDuplicateColumnNames, columnNames);
+        Table leftOuter = table2.join(col2Names).parallel(parallelism)
+                .leftOuter(table, allowDuplicateColumnNames, columnNames);
 
         // reverse the columns
         Table result = Table.create(leftOuter.name());
@@ -578,73 +637,327 @@ public class DataFrameJoiner {
         return result;
     }
 
-    private Table emptyTableFromColumns(Table table1, Table table2, String... col2Names) {
-        Column<?>[] cols = Streams.concat(
-                table1.columns().stream(),
-                table2.columns().stream().filter(c -> !Arrays.asList(col2Names).stream().anyMatch(c.name()::equalsIgnoreCase))
-                ).map(Column::emptyCopy).toArray(Column[]::new);
-        return Table.create(table1.name(), cols);
+    /**
+     * Returns the rows of the joiner's table that have a match in table2, using the columns this joiner was
+     * created with for both tables. Unlike an inner join, no columns are copied, and each row is selected at most
+     * once, however many matches it has.
+     *
+     * @param table2 The table to match against
+     * @return A selection of rows in the joiner's table
+     */
+    public Selection semi(Table table2) {
+        return semi(table2, columnNames);
     }
 
-    @SuppressWarnings({"rawtypes", "unchecked"})
-    private void crossProduct(Table destination, Table table1, Table table2) {
-        for (int c = 0; c < table1.columnCount() + table2.columnCount(); c++) {
-            for (int r1 = 0; r1 < table1.rowCount(); r1++) {
-                for (int r2 = 0; r2 < table2.rowCount(); r2++) {
-                    if (c < table1.columnCount()) {
-                        Column t1Col = table1.column(c);
-                        destination.column(c).append(t1Col, r1);
-                    } else {
-                        Column t2Col = table2.column(c - table1.columnCount());
-                        destination.column(c).append(t2Col, r2);
-                    }
-                }
-            }
-        }
+    /**
+     * Returns the rows of the joiner's table that have a match in table2, using the given columns for the second
+     * table. Unlike an inner join, no columns are copied, and each row is selected at most once, however many
+     * matches it has.
+     *
+     * @param table2    The table to match against
+     * @param col2Names The columns of table2 to match on
+     * @return A selection of rows in the joiner's table
+     */
+    public Selection semi(Table table2, String... col2Names) {
+        return selectByMatch(table2, true, col2Names);
     }
 
     /**
-     * Adds rows to destination for each row in table1, with the columns from table2 added as missing values in each
+     * Returns the rows of the joiner's table that have no match in table2, using the columns this joiner was
+     * created with for both tables
+     *
+     * @param table2 The table to match against
+     * @return A selection of rows in the joiner's table
      */
-    @SuppressWarnings({"rawtypes", "unchecked"})
-    private void withMissingLeftJoin(Table destination, Table table1) {
-        for (int c = 0; c < destination.columnCount(); c++) {
-            if (c < table1.columnCount()) {
-                Column t1Col = table1.column(c);
-                destination.column(c).append(t1Col);
-            } else {
-                for (int r1 = 0; r1 < table1.rowCount(); r1++) {
-                    destination.column(c).appendMissing();
-                }
+    public Selection anti(Table table2) {
+        return anti(table2, columnNames);
+    }
+
+    /**
+     * Returns the rows of the joiner's table that have no match in table2, using the given columns for the second
+     * table
+     *
+     * @param table2    The table to match against
+     * @param col2Names The columns of table2 to match on
+     * @return A selection of rows in the joiner's table
+     */
+    public Selection anti(Table table2, String... col2Names) {
+        return selectByMatch(table2, false, col2Names);
+    }
+
+    /**
+     * Returns the rows of the joiner's table that may have a match in table2, using the columns this joiner was
+     * created with for both tables
+     *
+     * @param table2 The table to match against
+     * @return A selection of rows in the joiner's table
+     * @see #mayMatch(Table, String...)
+     */
+    public Selection mayMatch(Table table2) {
+        return mayMatch(table2, columnNames);
+    }
+
+    /**
+     * Returns the rows of the joiner's table that may have a match in table2, using the given columns for the second
+     * table. The selection is made with a Bloom filter over the keys of table2, so it includes every row that has a
+     * match, and a small fraction (about two percent) of the rows that don't.
+     *
+     * The filter is much smaller than an index over table2, so this is a cheap way to discard most of the rows of a
+     * large table before joining it to a small one.
+     *
+     * @param table2    The table to match against
+     * @param col2Names The columns of table2 to match on
+     * @return A selection of rows in the joiner's table
+     */
+    public Selection mayMatch(Table table2, String... col2Names) {
+        Column<?>[] table1Columns = table1Columns(table);
+        Column<?>[] table2Columns = table2.columns(col2Names).toArray(new Column<?>[0]);
+        JoinIndex.checkJoinColumns(table1Columns, table2Columns);
+
+        JoinBloomFilter filter = new JoinBloomFilter(table2Columns);
+        Selection selection = new BitmapBackedSelection();
+        for (int ri = 0; ri < table.rowCount(); ri++) {
+            if (filter.mightContain(table1Columns, ri)) {
+                selection.add(ri);
             }
         }
+        return selection;
     }
 
     /**
-     * Adds rows to destination for each row in the joinColumn and table2
+     * Returns the rows of the joiner's table that have (if {@code matched} is true) or don't have a match in table2
      */
-    @SuppressWarnings({"rawtypes", "unchecked"})
-    private void withMissingRightJoin(Table destination, List<Column<?>> joinColumns, Table table2) {
-        int t2StartCol = destination.columnCount() - table2.columnCount();
-        for (int c = 0; c < destination.columnCount(); c++) {
-            boolean addedJoinColumns = false;
-            for (Column joinColumn : joinColumns) {
-                if (destination.column(c).name().equalsIgnoreCase(joinColumn.name())) {
-                    destination.column(c).append(joinColumn);
-                    addedJoinColumns = true;
-                }
-            }
-            if (!addedJoinColumns) {
-                if (c < t2StartCol) {
-                    for (int r2 = 0; r2 < table2.rowCount(); r2++) {
-                        destination.column(c).appendMissing();
-                    }
-                } else {
-                    Column t2Col = table2.column(c - t2StartCol);
-                    destination.column(c).append(t2Col);
-                }
+    private Selection selectByMatch(Table table2, boolean matched, String... col2Names) {
+        Column<?>[] table1Columns = table1Columns(table);
+        Column<?>[] table2Columns = table2.columns(col2Names).toArray(new Column<?>[0]);
+        JoinIndex.checkJoinColumns(table1Columns, table2Columns);
+
+        JoinKeySet keys = new JoinKeySet(table2Columns);
+        Selection selection = new BitmapBackedSelection();
+        for (int ri = 0; ri < table.rowCount(); ri++) {
+            if (keys.contains(table1Columns, ri) == matched) {
+                selection.add(ri);
             }
         }
+        return selection;
+    }
+
+    /**
+     * Performs an as-of join, using the columns this joiner was created with for both tables. Each row of the joiner's
+     * table is matched to the latest row of table2 whose key is at or before its own. The last join column is the key,
+     * which must be a DateTime or Long column; any columns before it must be equal in the matched rows.
+     *
+     * Every row of the joiner's table appears once in the result, in its original order. Rows with no match have
+     * missing values in the columns from table2.
+     *
+     * @param table2 The table to join with
+     * @return The resulting table
+     */
+    public Table asOf(Table table2) {
+        return asOf(table2, columnNames);
     }
 
+    /**
+     * Performs an as-of join, using the given columns for the second table. The last column in each table is the key,
+     * and any columns before it must be equal in the matched rows.
+     *
+     * @param table2    The table to join with
+     * @param col2Names The columns of table2 to join on, with the key last
+     * @return The resulting table
+     */
+    public Table asOf(Table table2, String... col2Names) {
+        return asOfInternal(table2, null, col2Names);
+    }
+
+    /**
+     * Performs an as-of join on DateTime keys, matching only rows of table2 that are no more than the given duration
+     * earlier than the row they are matched to
+     *
+     * @param table2    The table to join with
+     * @param tolerance The greatest allowed distance between the matched keys
+     * @param col2Names The columns of table2 to join on, with the key last
+     * @return The resulting table
+     */
+    public Table asOf(Table table2, Duration tolerance, String... col2Names) {
+        return asOfInternal(table2, key -> AsOfJoin.tolerance(key, tolerance), col2Names);
+    }
+
+    /**
+     * Performs an as-of join on Long keys, matching only rows of table2 whose key is no more than the given amount
+     * less than the key of the row they are matched to
+     *
+     * @param table2    The table to join with
+     * @param tolerance The greatest allowed difference between the matched keys
+     * @param col2Names The columns of table2 to join on, with the key last
+     * @return The resulting table
+     */
+    public Table asOf(Table table2, long tolerance, String... col2Names) {
+        return asOfInternal(table2, key -> AsOfJoin.tolerance(key, tolerance), col2Names);
+    }
+
+    /**
+     * @param tolerance gives the tolerance function for the key column of this joiner's table, or is null if the
+     *                  match distance is unbounded
+     */
+    private Table asOfInternal(Table table2, Function<Column<?>, LongUnaryOperator> tolerance, String... col2Names) {
+        Column<?>[] table1Columns = table1Columns(table);
+        Column<?>[] table2Columns = table2.columns(col2Names).toArray(new Column<?>[0]);
+        AsOfJoin asOfJoin = new AsOfJoin(table1Columns, table2Columns);
+        LongUnaryOperator earliestMatch = tolerance == null
+                ? AsOfJoin.NO_TOLERANCE
+                : tolerance.apply(table1Columns[table1Columns.length - 1]);
+        return asOfJoin.join(earliestMatch).materialize(table, table2, col2Names);
+    }
+
+    /**
+     * Performs a range join, matching each row of the joiner's table to every row of table2 whose values in the given
+     * low and high columns are on either side of its own, as in SQL's {@code x BETWEEN lo AND hi}. Both ends of the
+     * range are inclusive. The joiner must have a single join column, of the same type as the low and high columns.
+     *
+     * The result holds all the columns of both tables, with the rows in order of the joiner's table, and then of table2.
+     *
+     * @param table2     The table to join with
+     * @param lowColumn  The name of the column in table2 holding the low end of each range
+     * @param highColumn The name of the column in table2 holding the high end of each range
+     * @return The resulting table
+     */
+    public Table between(Table table2, String lowColumn, String highColumn) {
+        return between(table2, lowColumn, highColumn, false);
+    }
+
+    /**
+     * Performs a range join, matching each row of the joiner's table to every row of table2 whose values in the given
+     * low and high columns are on either side of its own. Both ends of the range are inclusive.
+     *
+     * @param table2                    The table to join with
+     * @param lowColumn                 The name of the column in table2 holding the low end of each range
+     * @param highColumn                The name of the column in table2 holding the high end of each range
+     * @param allowDuplicateColumnNames if {@code false} the join will fail if any columns have the same name
+     *                                  if {@code true} the join will succeed and duplicate columns are renamed
+     * @return The resulting table
+     */
+    public Table between(Table table2, String lowColumn, String highColumn, boolean allowDuplicateColumnNames) {
+        return rangeJoin(table2, table2.column(lowColumn), true, table2.column(highColumn), true,
+                allowDuplicateColumnNames);
+    }
+
+    /**
+     * Performs a range join, matching each row of the joiner's table to every row of table2 where the joiner's column
+     * is less than the given column
+     *
+     * @param table2   The table to join with
+     * @param col2Name The name of the column in table2 to compare with
+     * @return The resulting table
+     */
+    public Table lessThan(Table table2, String col2Name) {
+        return lessThan(table2, col2Name, false);
+    }
+
+    /**
+     * Performs a range join, matching each row of the joiner's table to every row of table2 where the joiner's column
+     * is less than the given column
+     *
+     * @param table2                    The table to join with
+     * @param col2Name                  The name of the column in table2 to compare with
+     * @param allowDuplicateColumnNames if {@code false} the join will fail if any columns have the same name
+     *                                  if {@code true} the join will succeed and duplicate columns are renamed
+     * @return The resulting table
+     */
+    public Table lessThan(Table table2, String col2Name, boolean allowDuplicateColumnNames) {
+        return rangeJoin(table2, null, true, table2.column(col2Name), false, allowDuplicateColumnNames);
+    }
+
+    /**
+     * Performs a range join, matching each row of the joiner's table to every row of table2 where the joiner's column
+     * is less than or equal to the given column
+     *
+     * @param table2   The table to join with
+     * @param col2Name The name of the column in table2 to compare with
+     * @return The resulting table
+     */
+    public Table lessThanOrEqualTo(Table table2, String col2Name) {
+        return lessThanOrEqualTo(table2, col2Name, false);
+    }
+
+    /**
+     * Performs a range join, matching each row of the joiner's table to every row of table2 where the joiner's column
+     * is less than or equal to the given column
+     *
+     * @param table2                    The table to join with
+     * @param col2Name                  The name of the column in table2 to compare with
+     * @param allowDuplicateColumnNames if {@code false} the join will fail if any columns have the same name
+     *                                  if {@code true} the join will succeed and duplicate columns are renamed
+     * @return The resulting table
+     */
+    public Table lessThanOrEqualTo(Table table2, String col2Name, boolean allowDuplicateColumnNames) {
+        return rangeJoin(table2, null, true, table2.column(col2Name), true, allowDuplicateColumnNames);
+    }
+
+    /**
+     * Performs a range join, matching each row of the joiner's table to every row of table2 where the joiner's column
+     * is greater than the given column
+     *
+     * @param table2   The table to join with
+     * @param col2Name The name of the column in table2 to compare with
+     * @return The resulting table
+     */
+    public Table greaterThan(Table table2, String col2Name) {
+        return greaterThan(table2, col2Name, false);
+    }
+
+    /**
+     * Performs a range join, matching each row of the joiner's table to every row of table2 where the joiner's column
+     * is greater than the given column
+     *
+     * @param table2                    The table to join with
+     * @param col2Name                  The name of the column in table2 to compare with
+     * @param allowDuplicateColumnNames if {@code false} the join will fail if any columns have the same name
+     *                                  if {@code true} the join will succeed and duplicate columns are renamed
+     * @return The resulting table
+     */
+    public Table greaterThan(Table table2, String col2Name, boolean allowDuplicateColumnNames) {
+        return rangeJoin(table2, table2.column(col2Name), false, null, true, allowDuplicateColumnNames);
+    }
+
+    /**
+     * Performs a range join, matching each row of the joiner's table to every row of table2 where the joiner's column
+     * is greater than or equal to the given column
+     *
+     * @param table2   The table to join with
+     * @param col2Name The name of the column in table2 to compare with
+     * @return The resulting table
+     */
+    public Table greaterThanOrEqualTo(Table table2, String col2Name) {
+        return greaterThanOrEqualTo(table2, col2Name, false);
+    }
+
+    /**
+     * Performs a range join, matching each row of the joiner's table to every row of table2 where the joiner's column
+     * is greater than or equal to the given column
+     *
+     * @param table2                    The table to join with
+     * @param col2Name                  The name of the column in table2 to compare with
+     * @param allowDuplicateColumnNames if {@code false} the join will fail if any columns have the same name
+     *                                  if {@code true} the join will succeed and duplicate columns are renamed
+     * @return The resulting table
+     */
+    public Table greaterThanOrEqualTo(Table table2, String col2Name, boolean allowDuplicateColumnNames) {
+        return rangeJoin(table2, table2.column(col2Name), true, null, true, allowDuplicateColumnNames);
+    }
+
+    /**
+     * Joins with the given columns of table2, which are looked up before any renaming. All the columns of table2 are
+     * kept in the result, so with allowDuplicates every one whose name is used in the joiner's table is renamed,
+     * including the compared columns.
+     */
+    private Table rangeJoin(Table table2, Column<?> low, boolean lowInclusive, Column<?> high, boolean highInclusive,
+                            boolean allowDuplicates) {
+        Preconditions.checkArgument(columns.length == 1, "A range join requires a single join column");
+        Column<?> key = table1Columns(table)[0];
+        RowPairs rowPairs = new RangeJoin(key, low, lowInclusive, high, highInclusive).join();
+        if (allowDuplicates) {
+            renameColumnsWithDuplicateNames(table.columnNames(), table2);
+        }
+        return rowPairs.materialize(table, table2);
+    }
 }
@@ -0,0 +1,73 @@
+package tech.tablesaw.joining;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import tech.tablesaw.api.StringColumn;
+import tech.tablesaw.columns.Column;
+import tech.tablesaw.columns.strings.DictionaryMap;
+
+/**
+ * A hash join on a single StringColumn key, that joins on dictionary keys rather than on strings.
+ *
+ * The rows of the right column are grouped by their dictionary keys, and then each distinct right key is translated
+ * once into the left column's key for the same string. The left rows are probed with their own keys, so strings are
+ * only hashed once per distinct value, however many rows there are.
+ */
+final class DictionaryJoin {
+
+    // Don't instantiate
+    private DictionaryJoin() {}
+
+    /**
+     * Returns true if the given columns can be joined on their dictionary keys, i.e. if there is exactly one join
+     * column on each side, and both are StringColumns
+     */
+    static boolean canJoin(Column<?>[] leftColumns, Column<?>[] rightColumns) {
+        return leftColumns.length == 1
+                && rightColumns.length == 1
+                && leftColumns[0] instanceof StringColumn
+                && rightColumns[0] instanceof StringColumn;
+    }
+
+    /**
+     * Returns the matching rows of the given columns, in the same order as the hash join
+     *
+     * @param outer if true, left rows that match no right row are included, paired with a missing right row
+     */
+    static RowPairs join(StringColumn left, StringColumn right, boolean outer) {
+        Int2ObjectOpenHashMap<IntArrayList> rightRowsByRightKey = new Int2ObjectOpenHashMap<>();
+        for (int row = 0; row < right.size(); row++) {
+            int key = right.getKeyForIndex(row);
+            IntArrayList rows = rightRowsByRightKey.get(key);
+            if (rows == null) {
+                rows = new IntArrayList();
+                rightRowsByRightKey.put(key, rows);
+            }
+            rows.add(row);
+        }
+
+        Int2ObjectOpenHashMap<IntArrayList> rightRowsByLeftKey = new Int2ObjectOpenHashMap<>();
+        for (Int2ObjectMap.Entry<IntArrayList> entry : rightRowsByRightKey.int2ObjectEntrySet()) {
+            int leftKey = left.getKeyForValue(right.getValueForKey(entry.getIntKey()));
+            if (leftKey != DictionaryMap.NO_KEY) {
+                rightRowsByLeftKey.put(leftKey, entry.getValue());
+            }
+        }
+
+        RowPairs rowPairs = new RowPairs(left.size());
+        for (int row = 0; row < left.size(); row++) {
+            IntArrayList matches = rightRowsByLeftKey.get(left.getKeyForIndex(row));
+            if (matches == null) {
+                if (outer) {
+                    rowPairs.add(row, RowPairs.MISSING);
+                }
+            } else {
+                for (int i = 0; i < matches.size(); i++) {
+                    rowPairs.add(row, matches.getInt(i));
+                }
+            }
+        }
+        return rowPairs;
+    }
+}
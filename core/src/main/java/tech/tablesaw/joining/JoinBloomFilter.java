@@ -0,0 +1,56 @@
+package tech.tablesaw.joining;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import tech.tablesaw.columns.Column;
+
+/**
+ * A blocked Bloom filter over the join keys of a table, used to discard rows of another table that can't match any
+ * of those keys, before looking them up in a {@link JoinIndex}.
+ *
+ * Each key sets three bits in a single 64-bit block, so a test reads one word of memory. With ten bits per key, about
+ * two percent of the keys that are not in the filter are reported as possibly present; keys that are in the filter
+ * are always reported as present.
+ */
+final class JoinBloomFilter {
+
+    private static final int BITS_PER_KEY = 10;
+
+    private final long[] blocks;
+    private final int mask;
+
+    /**
+     * Builds a filter over the keys in all the rows of the given columns
+     */
+    JoinBloomFilter(Column<?>[] columns) {
+        int size = columns[0].size();
+        int blockCount = HashCommon.nextPowerOfTwo(Math.max(1, (int) ((long) size * BITS_PER_KEY / Long.SIZE)));
+        this.blocks = new long[blockCount];
+        this.mask = blockCount - 1;
+        for (int row = 0; row < size; row++) {
+            long hash = JoinIndex.keyHash(columns, row);
+            blocks[block(hash)] |= bits(hash);
+        }
+    }
+
+    /**
+     * Returns false if the key in the given row of the given columns is certainly not in the filter, and true if it
+     * may be
+     */
+    boolean mightContain(Column<?>[] probeColumns, int row) {
+        long hash = JoinIndex.keyHash(probeColumns, row);
+        long bits = bits(hash);
+        return (blocks[block(hash)] & bits) == bits;
+    }
+
+    private int block(long hash) {
+        return (int) hash & mask;
+    }
+
+    /**
+     * Returns a word with the three bits for the given hash set, taken from its high bits, which are not used to
+     * choose the block
+     */
+    private static long bits(long hash) {
+        return (1L << (hash >>> 58)) | (1L << ((hash >>> 52) & 63)) | (1L << ((hash >>> 46) & 63));
+    }
+}
@@ -0,0 +1,339 @@
+package tech.tablesaw.joining;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import tech.tablesaw.api.BooleanColumn;
+import tech.tablesaw.api.ColumnType;
+import tech.tablesaw.api.DateColumn;
+import tech.tablesaw.api.DateTimeColumn;
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.FloatColumn;
+import tech.tablesaw.api.IntColumn;
+import tech.tablesaw.api.LongColumn;
+import tech.tablesaw.api.ShortColumn;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.api.TimeColumn;
+import tech.tablesaw.columns.Column;
+import tech.tablesaw.columns.booleans.BooleanColumnType;
+import tech.tablesaw.columns.dates.DateColumnType;
+import tech.tablesaw.columns.datetimes.DateTimeColumnType;
+import tech.tablesaw.columns.numbers.DoubleColumnType;
+import tech.tablesaw.columns.numbers.FloatColumnType;
+import tech.tablesaw.columns.numbers.IntColumnType;
+import tech.tablesaw.columns.numbers.LongColumnType;
+import tech.tablesaw.columns.numbers.ShortColumnType;
+import tech.tablesaw.columns.strings.StringColumnType;
+import tech.tablesaw.columns.strings.TextColumnType;
+import tech.tablesaw.columns.times.TimeColumnType;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A hash index over the join columns of one table (the build side of a join).
+ *
+ * The index is built once per join, and then probed with each row of the other table, so the cost of a join is
+ * proportional to the sum of the table sizes rather than to their product.
+ *
+ * All the join columns together form a single key, so each probe is one hash lookup. When the key columns are
+ * small enough (a short and an int, or a date and an int, for example), their values are packed into a single long.
+ * Otherwise, the index is keyed on a hash of the values, and the rows found are checked against the probe row.
+ *
+ * An index can also be built up front, and passed to {@link DataFrameJoiner#inner(JoinIndex)} or
+ * {@link DataFrameJoiner#leftOuter(JoinIndex)} to join any number of tables to the same table without indexing it
+ * again each time. An index is immutable once built, and may be used by many threads at once, but the table it was
+ * built from must not be modified while the index is in use.
+ */
+public final class JoinIndex {
+
+    private static final IntArrayList NO_ROWS = new IntArrayList(0);
+
+    /**
+     * The indexed table and the names of its join columns
+     */
+    private final Table table;
+    private final String[] columnNames;
+
+    private final Column<?>[] columns;
+
+    /**
+     * True if the keys are the packed values of the join columns, false if they are hashes of those values
+     */
+    private final boolean packed;
+
+    private final Long2ObjectOpenHashMap<IntArrayList> index = new Long2ObjectOpenHashMap<>();
+
+    /**
+     * Builds an index over the given columns of the given table
+     *
+     * @throws IllegalArgumentException if any of the columns can't be used as a join key
+     */
+    public JoinIndex(Table table, String... columnNames) {
+        this(table, columnNames, table.columns(columnNames).toArray(new Column<?>[0]));
+        for (int row = 0; row < table.rowCount(); row++) {
+            add(row);
+        }
+    }
+
+    /**
+     * Builds an index over some of the rows of the given columns of the given table. Rows that aren't indexed are
+     * never returned by a lookup, but the index is otherwise the same as one over the whole table.
+     *
+     * @param rows an array holding the row numbers to index, in ascending order between {@code from} and {@code to}
+     */
+    JoinIndex(Table table, String[] columnNames, int[] rows, int from, int to) {
+        this(table, columnNames, table.columns(columnNames).toArray(new Column<?>[0]));
+        for (int i = from; i < to; i++) {
+            add(rows[i]);
+        }
+    }
+
+    private JoinIndex(Table table, String[] columnNames, Column<?>[] columns) {
+        for (Column<?> column : columns) {
+            if (!isJoinable(column.type())) {
+                throw unsupportedType(column);
+            }
+        }
+        this.table = table;
+        this.columnNames = columnNames.clone();
+        this.columns = columns;
+        this.packed = isPackable(columns);
+    }
+
+    /**
+     * Returns the indexed table
+     */
+    public Table table() {
+        return table;
+    }
+
+    /**
+     * Returns the names of the indexed columns
+     */
+    public List<String> columnNames() {
+        return Collections.unmodifiableList(Arrays.asList(columnNames));
+    }
+
+    private void add(int row) {
+        long key = key(columns, row);
+        IntArrayList recordIds = index.get(key);
+        if (recordIds == null) {
+            recordIds = new IntArrayList();
+            index.put(key, recordIds);
+        }
+        recordIds.add(row);
+    }
+
+    private long key(Column<?>[] keyColumns, int row) {
+        return packed ? packedKey(keyColumns, row) : keyHash(keyColumns, row);
+    }
+
+    /**
+     * Throws an IllegalArgumentException if the given columns can't be used to probe this index
+     */
+    void checkProbeColumns(Column<?>... probeColumns) {
+        checkJoinColumns(probeColumns, columns);
+    }
+
+    /**
+     * Throws an IllegalArgumentException unless each of the given left columns can be joined to the right column
+     * in the same position
+     */
+    static void checkJoinColumns(Column<?>[] leftColumns, Column<?>[] rightColumns) {
+        if (leftColumns.length != rightColumns.length) {
+            throw new IllegalArgumentException("Expected " + rightColumns.length
+                    + " join columns, but got " + leftColumns.length);
+        }
+        for (int i = 0; i < rightColumns.length; i++) {
+            ColumnType leftType = leftColumns[i].type();
+            ColumnType rightType = rightColumns[i].type();
+            if (!isJoinable(leftType)) {
+                throw unsupportedType(leftColumns[i]);
+            }
+            boolean compatible = leftType.equals(rightType)
+                    || (isStringKey(leftType) && isStringKey(rightType));
+            if (!compatible) {
+                throw new IllegalArgumentException("Column " + leftColumns[i].name() + " of type " + leftType
+                        + " cannot be joined to column " + rightColumns[i].name() + " of type " + rightType);
+            }
+        }
+    }
+
+    /**
+     * Returns the rows of the indexed table whose key columns match the given row of the probe columns, in ascending order.
+     *
+     * @param probeColumns the columns of the probing table, in the same order as the indexed columns
+     * @param row          the row of the probing table
+     */
+    IntArrayList get(Column<?>[] probeColumns, int row) {
+        IntArrayList recordIds = index.get(key(probeColumns, row));
+        if (recordIds == null) {
+            return NO_ROWS;
+        }
+        if (packed) {
+            return recordIds;
+        }
+        return matching(recordIds, probeColumns, row);
+    }
+
+    /**
+     * Returns the rows in the given list whose keys are equal to the key of the given probe row. The list itself is
+     * returned if they all are, which is the case unless two different keys have the same hash.
+     */
+    private IntArrayList matching(IntArrayList recordIds, Column<?>[] probeColumns, int row) {
+        int i = 0;
+        while (i < recordIds.size() && keysEqual(probeColumns, row, recordIds.getInt(i))) {
+            i++;
+        }
+        if (i == recordIds.size()) {
+            return recordIds;
+        }
+        IntArrayList result = new IntArrayList(recordIds.subList(0, i));
+        for (i++; i < recordIds.size(); i++) {
+            if (keysEqual(probeColumns, row, recordIds.getInt(i))) {
+                result.add(recordIds.getInt(i));
+            }
+        }
+        return result;
+    }
+
+    private boolean keysEqual(Column<?>[] probeColumns, int probeRow, int indexRow) {
+        return keysEqual(columns, indexRow, probeColumns, probeRow);
+    }
+
+    /**
+     * Returns true if the key in the given row of the first columns is equal to the key in the given row of the second
+     */
+    static boolean keysEqual(Column<?>[] columns1, int row1, Column<?>[] columns2, int row2) {
+        for (int c = 0; c < columns1.length; c++) {
+            Column<?> column = columns1[c];
+            if (isStringKey(column.type())) {
+                if (!column.getUnformattedString(row1).equals(columns2[c].getUnformattedString(row2))) {
+                    return false;
+                }
+            } else if (longKey(column, row1) != longKey(columns2[c], row2)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if the values of the given columns fit together in a single long
+     */
+    static boolean isPackable(Column<?>[] keyColumns) {
+        int bits = 0;
+        for (Column<?> column : keyColumns) {
+            if (!isLongKey(column.type())) {
+                return false;
+            }
+            bits += keyBits(column.type());
+        }
+        return bits <= Long.SIZE;
+    }
+
+    /**
+     * Returns the values in the given row of the given columns, packed into a single long. Each value occupies the
+     * number of bits given by {@link #keyBits(ColumnType)}
+     */
+    static long packedKey(Column<?>[] keyColumns, int row) {
+        long key = 0;
+        for (Column<?> column : keyColumns) {
+            int bits = keyBits(column.type());
+            long value = longKey(column, row);
+            key = bits == Long.SIZE ? value : (key << bits) | (value & ((1L << bits) - 1));
+        }
+        return key;
+    }
+
+    /**
+     * Returns the number of bits needed to hold the key of a non-string column of the given type
+     */
+    private static int keyBits(ColumnType type) {
+        if (type instanceof BooleanColumnType) {
+            return Byte.SIZE;
+        } else if (type instanceof ShortColumnType) {
+            return Short.SIZE;
+        } else if (type instanceof IntColumnType
+                || type instanceof DateColumnType
+                || type instanceof TimeColumnType
+                || type instanceof FloatColumnType) {
+            return Integer.SIZE;
+        }
+        return Long.SIZE;
+    }
+
+    /**
+     * Returns a hash of the join key in the given row of the given columns. Rows with equal keys have equal hashes,
+     * even when one side of the join is a StringColumn and the other a TextColumn.
+     */
+    static long keyHash(Column<?>[] columns, int row) {
+        long hash = 1;
+        for (Column<?> column : columns) {
+            long part = isStringKey(column.type())
+                    ? column.getUnformattedString(row).hashCode()
+                    : longKey(column, row);
+            hash = 31 * hash + HashCommon.mix(part);
+        }
+        return HashCommon.mix(hash);
+    }
+
+    /**
+     * Returns true if the given column type can be used as a join key
+     */
+    static boolean isJoinable(ColumnType type) {
+        return isLongKey(type) || isStringKey(type);
+    }
+
+    private static boolean isStringKey(ColumnType type) {
+        return type instanceof StringColumnType || type instanceof TextColumnType;
+    }
+
+    static boolean isLongKey(ColumnType type) {
+        return type instanceof DateColumnType
+                || type instanceof DateTimeColumnType
+                || type instanceof TimeColumnType
+                || type instanceof IntColumnType
+                || type instanceof LongColumnType
+                || type instanceof ShortColumnType
+                || type instanceof BooleanColumnType
+                || type instanceof DoubleColumnType
+                || type instanceof FloatColumnType;
+    }
+
+    /**
+     * Returns the value in the given row of a non-string column, as a long that is equal for two values
+     * if and only if they would be considered equal by the column's index
+     */
+    static long longKey(Column<?> column, int row) {
+        ColumnType type = column.type();
+        if (type instanceof DateColumnType) {
+            return ((DateColumn) column).getIntInternal(row);
+        } else if (type instanceof DateTimeColumnType) {
+            return ((DateTimeColumn) column).getLongInternal(row);
+        } else if (type instanceof TimeColumnType) {
+            return ((TimeColumn) column).getIntInternal(row);
+        } else if (type instanceof IntColumnType) {
+            return ((IntColumn) column).getInt(row);
+        } else if (type instanceof LongColumnType) {
+            return ((LongColumn) column).getLong(row);
+        } else if (type instanceof ShortColumnType) {
+            return ((ShortColumn) column).getShort(row);
+        } else if (type instanceof BooleanColumnType) {
+            return ((BooleanColumn) column).getByte(row);
+        } else if (type instanceof DoubleColumnType) {
+            return Double.doubleToLongBits(((DoubleColumn) column).getDouble(row));
+        } else if (type instanceof FloatColumnType) {
+            return Float.floatToIntBits(((FloatColumn) column).getFloat(row));
+        }
+        throw unsupportedType(column);
+    }
+
+    static IllegalArgumentException unsupportedType(Column<?> column) {
+        return new IllegalArgumentException(
+                "Joining is supported on numeric, string, and date-like columns. Column "
+                        + column.name() + " is of type " + column.type());
+    }
+}
@@ -0,0 +1,58 @@
+package tech.tablesaw.joining;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import tech.tablesaw.columns.Column;
+
+/**
+ * The set of distinct join keys in some columns of a table, for semi- and anti-joins, which only need to know whether
+ * a key is present, not which rows have it.
+ *
+ * Keys that fit in a long are held in a primitive set. Other keys are held as one representative row per distinct key,
+ * grouped by the hash of the key.
+ */
+final class JoinKeySet {
+
+    private final Column<?>[] columns;
+    private final boolean packed;
+
+    private final LongOpenHashSet packedKeys = new LongOpenHashSet();
+    private final Long2ObjectOpenHashMap<IntArrayList> rowsByHash = new Long2ObjectOpenHashMap<>();
+
+    JoinKeySet(Column<?>[] columns) {
+        this.columns = columns;
+        this.packed = JoinIndex.isPackable(columns);
+        for (int row = 0; row < columns[0].size(); row++) {
+            if (packed) {
+                packedKeys.add(JoinIndex.packedKey(columns, row));
+            } else if (!contains(columns, row)) {
+                long hash = JoinIndex.keyHash(columns, row);
+                IntArrayList rows = rowsByHash.get(hash);
+                if (rows == null) {
+                    rows = new IntArrayList(1);
+                    rowsByHash.put(hash, rows);
+                }
+                rows.add(row);
+            }
+        }
+    }
+
+    /**
+     * Returns true if the key in the given row of the given columns is in this set
+     */
+    boolean contains(Column<?>[] probeColumns, int row) {
+        if (packed) {
+            return packedKeys.contains(JoinIndex.packedKey(probeColumns, row));
+        }
+        IntArrayList rows = rowsByHash.get(JoinIndex.keyHash(probeColumns, row));
+        if (rows != null) {
+            for (int i = 0; i < rows.size(); i++) {
+                if (JoinIndex.keysEqual(columns, rows.getInt(i), probeColumns, row)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,141 @@
+package tech.tablesaw.joining;
+
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import tech.tablesaw.api.StringColumn;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.columns.Column;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The order in which a multi-table join joins its tables, chosen to keep the intermediate results small.
+ *
+ * Every table is joined on the same key columns, so the tables can be joined in any order. The joiner's table always
+ * comes first, and then the tables are chosen greedily: at each step, the table that gives the smallest estimated
+ * intermediate result is joined next. The estimates use the row counts of the tables and the number of distinct keys
+ * in each, which is read from the dictionary of a single string key, or estimated from a sample of the rows otherwise.
+ */
+public final class JoinPlan {
+
+    private static final int SAMPLE_SIZE = 1024;
+
+    private final String tableName;
+    private final boolean outer;
+    private final List<Table> tables;
+    private final long[] estimatedRows;
+
+    private JoinPlan(String tableName, boolean outer, List<Table> tables, long[] estimatedRows) {
+        this.tableName = tableName;
+        this.outer = outer;
+        this.tables = tables;
+        this.estimatedRows = estimatedRows;
+    }
+
+    /**
+     * Returns the tables to join to the joiner's table, in the order they are joined
+     */
+    public List<Table> tables() {
+        return Collections.unmodifiableList(tables);
+    }
+
+    /**
+     * Returns the estimated number of rows in the result after the given number of tables have been joined
+     */
+    public long estimatedRows(int step) {
+        return estimatedRows[step];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(outer ? "Left outer" : "Inner").append(" join plan").append('\n');
+        builder.append("0. ").append(tableName).append(" (").append(estimatedRows[0]).append(" rows)");
+        for (int step = 1; step <= tables.size(); step++) {
+            builder.append('\n').append(step).append(". join ").append(tables.get(step - 1).name())
+                    .append(" (about ").append(estimatedRows[step]).append(" rows)");
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Plans the join of the given table to the other tables, on the given columns
+     *
+     * @param outer true for a left outer join, false for an inner join
+     */
+    static JoinPlan create(Table table, String[] columnNames, boolean outer, Table... others) {
+        double[] distincts = new double[others.length];
+        for (int i = 0; i < others.length; i++) {
+            distincts[i] = estimateDistinct(others[i], columnNames);
+        }
+        boolean[] joined = new boolean[others.length];
+        List<Table> order = new ArrayList<>();
+        long[] estimatedRows = new long[others.length + 1];
+
+        double rows = table.rowCount();
+        double distinct = estimateDistinct(table, columnNames);
+        estimatedRows[0] = table.rowCount();
+        for (int step = 1; step <= others.length; step++) {
+            int best = -1;
+            double bestRows = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < others.length; i++) {
+                if (joined[i]) {
+                    continue;
+                }
+                double candidateRows = others[i].rowCount();
+                double joinedRows = outer
+                        ? rows * Math.max(1, candidateRows / distincts[i])
+                        : rows * candidateRows / Math.max(distinct, distincts[i]);
+                if (best == -1 || joinedRows < bestRows) {
+                    best = i;
+                    bestRows = joinedRows;
+                }
+            }
+            joined[best] = true;
+            order.add(others[best]);
+            rows = bestRows;
+            if (!outer) {
+                distinct = Math.max(1, Math.min(distinct, distincts[best]));
+            }
+            estimatedRows[step] = Math.round(bestRows);
+        }
+        return new JoinPlan(table.name(), outer, order, estimatedRows);
+    }
+
+    /**
+     * Returns an estimate of the number of distinct keys in the given columns of the given table, which is at least 1
+     */
+    static double estimateDistinct(Table table, String... columnNames) {
+        int rowCount = table.rowCount();
+        if (rowCount == 0) {
+            return 1;
+        }
+        Column<?>[] columns = table.columns(columnNames).toArray(new Column<?>[0]);
+        if (columns.length == 1 && columns[0] instanceof StringColumn) {
+            return Math.max(1, ((StringColumn) columns[0]).countUnique());
+        }
+
+        // count the keys in evenly spaced rows
+        int sampleSize = Math.min(rowCount, SAMPLE_SIZE);
+        Long2IntOpenHashMap counts = new Long2IntOpenHashMap();
+        for (int i = 0; i < sampleSize; i++) {
+            int row = (int) ((long) i * rowCount / sampleSize);
+            counts.addTo(JoinIndex.keyHash(columns, row), 1);
+        }
+        if (sampleSize == rowCount) {
+            return counts.size();
+        }
+
+        // the guaranteed-error estimator: keys seen once in the sample stand for sqrt(n / s) keys each
+        int seenOnce = 0;
+        for (Long2IntMap.Entry entry : counts.long2IntEntrySet()) {
+            if (entry.getIntValue() == 1) {
+                seenOnce++;
+            }
+        }
+        double estimate = Math.sqrt((double) rowCount / sampleSize) * seenOnce + (counts.size() - seenOnce);
+        return Math.max(1, Math.min(rowCount, estimate));
+    }
+}
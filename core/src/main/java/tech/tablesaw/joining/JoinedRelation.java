@@ -0,0 +1,281 @@
+package tech.tablesaw.joining;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import tech.tablesaw.aggregate.AggregateFunction;
+import tech.tablesaw.aggregate.Summarizer;
+import tech.tablesaw.api.ColumnType;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.columns.Column;
+import tech.tablesaw.table.Relation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The result of a join, held as the pairs of matching row numbers rather than as copies of the joined columns.
+ *
+ * A column is only gathered from the joined tables the first time it is requested, so a join followed by a
+ * projection onto a few columns only copies those columns. Cell lookups, such as those made when printing, read the
+ * joined tables directly without gathering anything.
+ *
+ * Like a {@link tech.tablesaw.table.TableSlice}, a JoinedRelation is only good until the joined tables change.
+ */
+public class JoinedRelation extends Relation {
+
+    private String name;
+    private RowPairs rowPairs;
+
+    /**
+     * The columns of the joined tables that make up this relation, in order
+     */
+    private final List<Column<?>> sources = new ArrayList<>();
+
+    /**
+     * For each source column, true if it is from the left table
+     */
+    private final List<Boolean> fromLeft = new ArrayList<>();
+
+    /**
+     * For each source column, the gathered column, or null if it hasn't been requested yet
+     */
+    private final List<Column<?>> gathered = new ArrayList<>();
+
+    /**
+     * Creates a relation holding all the columns of the left table, followed by the columns of the right table other
+     * than its join columns
+     *
+     * @throws IllegalArgumentException if two of those columns have the same name
+     */
+    JoinedRelation(Table left, Table right, RowPairs rowPairs, String... rightJoinColumnNames) {
+        this.name = left.name();
+        this.rowPairs = rowPairs;
+        for (Column<?> column : left.columns()) {
+            addSource(column, true);
+        }
+        List<String> excluded = Arrays.asList(rightJoinColumnNames);
+        for (Column<?> column : right.columns()) {
+            if (excluded.stream().noneMatch(column.name()::equalsIgnoreCase)) {
+                addSource(column, false);
+            }
+        }
+    }
+
+    private void addSource(Column<?> column, boolean isLeft) {
+        if (columnNames().stream().anyMatch(column.name()::equalsIgnoreCase)) {
+            throw new IllegalArgumentException(String.format(
+                    "Cannot add column with duplicate name %s to table %s", column, name));
+        }
+        sources.add(column);
+        fromLeft.add(isLeft);
+        gathered.add(null);
+    }
+
+    /**
+     * Returns the row numbers in the source table of the column at the given index
+     */
+    private IntArrayList sourceRows(int columnIndex) {
+        return fromLeft.get(columnIndex) ? rowPairs.leftRows() : rowPairs.rightRows();
+    }
+
+    /**
+     * Returns the column at the given index, gathering it from the joined tables if it hasn't been requested before
+     */
+    @Override
+    public Column<?> column(int columnIndex) {
+        Column<?> column = gathered.get(columnIndex);
+        if (column == null) {
+            column = ColumnGatherer.gather(sources.get(columnIndex), sourceRows(columnIndex));
+            gathered.set(columnIndex, column);
+        }
+        return column;
+    }
+
+    @Override
+    public Column<?> column(String columnName) {
+        return column(columnIndex(columnName));
+    }
+
+    @Override
+    public int columnCount() {
+        return sources.size();
+    }
+
+    @Override
+    public int rowCount() {
+        return rowPairs.size();
+    }
+
+    /**
+     * Returns all the columns, gathering any that haven't been requested before
+     */
+    @Override
+    public List<Column<?>> columns() {
+        List<Column<?>> columns = new ArrayList<>();
+        for (int i = 0; i < columnCount(); i++) {
+            columns.add(column(i));
+        }
+        return columns;
+    }
+
+    @Override
+    public int columnIndex(Column<?> column) {
+        for (int i = 0; i < columnCount(); i++) {
+            if (sources.get(i) == column || gathered.get(i) == column) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException(String.format("Column %s is not present in relation %s", column.name(), name));
+    }
+
+    @Override
+    public List<String> columnNames() {
+        List<String> names = new ArrayList<>();
+        for (Column<?> column : sources) {
+            names.add(column.name());
+        }
+        return names;
+    }
+
+    @Override
+    public ColumnType[] columnTypes() {
+        ColumnType[] columnTypes = new ColumnType[columnCount()];
+        for (int i = 0; i < columnCount(); i++) {
+            columnTypes[i] = sources.get(i).type();
+        }
+        return columnTypes;
+    }
+
+    @Override
+    public Object get(int r, int c) {
+        Column<?> column = gathered.get(c);
+        if (column != null) {
+            return column.get(r);
+        }
+        int row = sourceRows(c).getInt(r);
+        return row == RowPairs.MISSING ? cell(r, c).get(0) : sources.get(c).get(row);
+    }
+
+    @Override
+    public String getString(int r, int columnIndex) {
+        Column<?> column = gathered.get(columnIndex);
+        if (column != null) {
+            return column.getString(r);
+        }
+        int row = sourceRows(columnIndex).getInt(r);
+        return row == RowPairs.MISSING ? cell(r, columnIndex).getString(0) : sources.get(columnIndex).getString(row);
+    }
+
+    @Override
+    public String getUnformatted(int r, int c) {
+        Column<?> column = gathered.get(c);
+        if (column != null) {
+            return column.getUnformattedString(r);
+        }
+        int row = sourceRows(c).getInt(r);
+        return row == RowPairs.MISSING ? cell(r, c).getUnformattedString(0) : sources.get(c).getUnformattedString(row);
+    }
+
+    /**
+     * Returns a column holding only the value at the given row and column indexes
+     */
+    private Column<?> cell(int r, int c) {
+        return ColumnGatherer.gather(sources.get(c), IntArrayList.wrap(new int[] {sourceRows(c).getInt(r)}));
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public JoinedRelation setName(String name) {
+        this.name = name;
+        return this;
+    }
+
+    /**
+     * Clears all rows from this relation, leaving the structure in place
+     */
+    @Override
+    public void clear() {
+        rowPairs = new RowPairs();
+        for (int i = 0; i < gathered.size(); i++) {
+            gathered.set(i, null);
+        }
+    }
+
+    @Override
+    public JoinedRelation addColumns(Column<?>... columns) {
+        throw new UnsupportedOperationException("Class JoinedRelation does not support the addColumns operation");
+    }
+
+    /**
+     * Removes the given columns from this relation. Columns that are removed before they are requested are never
+     * gathered.
+     */
+    @Override
+    public JoinedRelation removeColumns(Column<?>... columns) {
+        for (Column<?> column : columns) {
+            int i = columnIndex(column);
+            sources.remove(i);
+            fromLeft.remove(i);
+            gathered.remove(i);
+        }
+        return this;
+    }
+
+    /**
+     * Removes the columns with the given names from this relation, without gathering them
+     */
+    @Override
+    public JoinedRelation removeColumns(String... columnNames) {
+        for (String columnName : columnNames) {
+            int i = columnIndex(columnName);
+            sources.remove(i);
+            fromLeft.remove(i);
+            gathered.remove(i);
+        }
+        return this;
+    }
+
+    @Override
+    public Table first(int nRows) {
+        int rows = Math.min(nRows, rowCount());
+        Table table = Table.create(name);
+        for (int i = 0; i < columnCount(); i++) {
+            IntArrayList sourceRows = sourceRows(i);
+            table.addColumns(ColumnGatherer.gather(sources.get(i), IntArrayList.wrap(sourceRows.elements(), rows)));
+        }
+        return table;
+    }
+
+    /**
+     * Returns a table holding only the given columns of this relation
+     */
+    public Table select(String... columnNames) {
+        Table table = Table.create(name);
+        for (String columnName : columnNames) {
+            table.addColumns(column(columnName));
+        }
+        return table;
+    }
+
+    /**
+     * Returns a table holding all the columns of this relation
+     */
+    public Table asTable() {
+        Table table = Table.create(name);
+        for (int i = 0; i < columnCount(); i++) {
+            table.addColumns(column(i));
+        }
+        return table;
+    }
+
+    /**
+     * Returns a summarizer over this relation. Only the columns that are summarized or grouped on are gathered.
+     */
+    public Summarizer summarize(AggregateFunction<?, ?>... functions) {
+        return new Summarizer(this, functions);
+    }
+}
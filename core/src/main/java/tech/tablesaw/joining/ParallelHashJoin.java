@@ -0,0 +1,176 @@
+package tech.tablesaw.joining;
+
+import com.google.common.base.Preconditions;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.columns.Column;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * A hash join that runs on several threads.
+ *
+ * Both sides of the join are radix-partitioned on the hash of their join keys, so rows with equal keys always land
+ * in the same partition. Each partition is then joined on its own, concurrently on a ForkJoinPool, and the partition
+ * outputs are concatenated in the order of the left rows, so the result is the same as that of the serial join.
+ */
+final class ParallelHashJoin {
+
+    /**
+     * The number of partitions per thread. Using more partitions than threads balances the load when some keys are
+     * much more common than others
+     */
+    private static final int PARTITIONS_PER_THREAD = 4;
+
+    private static final IntArrayList EMPTY = new IntArrayList(0);
+
+    private final int parallelism;
+    private final int partitionBits;
+
+    ParallelHashJoin(int parallelism) {
+        Preconditions.checkArgument(parallelism > 0, "The parallelism level must be positive");
+        this.parallelism = parallelism;
+        this.partitionBits = 32 - Integer.numberOfLeadingZeros(parallelism * PARTITIONS_PER_THREAD - 1);
+    }
+
+    /**
+     * Returns the matching rows of the given left join columns and the named join columns of the right table
+     *
+     * @param filter a filter over the keys of the right columns, used to skip left rows that can't match, or null to
+     *               look up every left row
+     * @param outer  if true, left rows that match no right row are included, paired with a missing right row
+     */
+    RowPairs join(Column<?>[] leftColumns, Table rightTable, String[] rightColumnNames, JoinBloomFilter filter,
+                  boolean outer) {
+        Column<?>[] rightColumns = rightTable.columns(rightColumnNames).toArray(new Column<?>[0]);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            Partitions left = partition(pool, leftColumns);
+            Partitions right = partition(pool, rightColumns);
+
+            // the number of output rows for each left row
+            int leftRowCount = leftColumns[0].size();
+            int[] offsets = new int[leftRowCount + 1];
+
+            int partitionCount = 1 << partitionBits;
+            RowPairs[] partitionPairs = new RowPairs[partitionCount];
+            invokeAll(pool, partitionCount, p -> {
+                JoinIndex index = new JoinIndex(rightTable, rightColumnNames, right.rows, right.start(p), right.end(p));
+                RowPairs pairs = new RowPairs();
+                for (int i = left.start(p); i < left.end(p); i++) {
+                    int leftRow = left.rows[i];
+                    boolean mayMatch = filter == null || filter.mightContain(leftColumns, leftRow);
+                    IntArrayList matches = mayMatch ? index.get(leftColumns, leftRow) : EMPTY;
+                    for (int m = 0; m < matches.size(); m++) {
+                        pairs.add(leftRow, matches.getInt(m));
+                    }
+                    if (outer && matches.isEmpty()) {
+                        pairs.add(leftRow, RowPairs.MISSING);
+                    }
+                    offsets[leftRow + 1] = outer ? Math.max(1, matches.size()) : matches.size();
+                }
+                partitionPairs[p] = pairs;
+            });
+
+            for (int i = 0; i < leftRowCount; i++) {
+                offsets[i + 1] += offsets[i];
+            }
+
+            // every left row is in exactly one partition, so the partitions write to disjoint slots
+            int[] leftRows = new int[offsets[leftRowCount]];
+            int[] rightRows = new int[offsets[leftRowCount]];
+            invokeAll(pool, partitionCount, p -> {
+                IntArrayList partitionLeft = partitionPairs[p].leftRows();
+                IntArrayList partitionRight = partitionPairs[p].rightRows();
+                for (int i = 0; i < partitionLeft.size(); i++) {
+                    int leftRow = partitionLeft.getInt(i);
+                    int slot = offsets[leftRow]++;
+                    leftRows[slot] = leftRow;
+                    rightRows[slot] = partitionRight.getInt(i);
+                }
+            });
+            return RowPairs.wrap(leftRows, rightRows);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Groups the rows of the given columns by the partition of their key hash
+     */
+    private Partitions partition(ForkJoinPool pool, Column<?>[] columns) {
+        int rowCount = columns[0].size();
+        int[] partitionOfRow = new int[rowCount];
+        int chunkSize = Math.max(1, (rowCount + parallelism - 1) / parallelism);
+        int chunkCount = (rowCount + chunkSize - 1) / chunkSize;
+        invokeAll(pool, chunkCount, chunk -> {
+            int end = Math.min(rowCount, (chunk + 1) * chunkSize);
+            for (int row = chunk * chunkSize; row < end; row++) {
+                partitionOfRow[row] = partitionOf(JoinIndex.keyHash(columns, row));
+            }
+        });
+
+        int[] offsets = new int[(1 << partitionBits) + 1];
+        for (int row = 0; row < rowCount; row++) {
+            offsets[partitionOfRow[row] + 1]++;
+        }
+        for (int p = 0; p < (1 << partitionBits); p++) {
+            offsets[p + 1] += offsets[p];
+        }
+        int[] rows = new int[rowCount];
+        int[] next = offsets.clone();
+        for (int row = 0; row < rowCount; row++) {
+            rows[next[partitionOfRow[row]]++] = row;
+        }
+        return new Partitions(rows, offsets);
+    }
+
+    private int partitionOf(long hash) {
+        return (int) (hash >>> (Long.SIZE - partitionBits));
+    }
+
+    /**
+     * Runs the given action for every integer from 0 to count - 1, on the given pool, and waits for them all to finish
+     */
+    private static void invokeAll(ForkJoinPool pool, int count, IntAction action) {
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final int taskNumber = i;
+            tasks.add(pool.submit(() -> action.run(taskNumber)));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+    }
+
+    @FunctionalInterface
+    private interface IntAction {
+        void run(int i);
+    }
+
+    /**
+     * The row numbers of a table, grouped by partition. The rows of partition p are those in {@code rows} from
+     * {@code offsets[p]} (inclusive) to {@code offsets[p + 1]} (exclusive), in ascending order.
+     */
+    private static final class Partitions {
+
+        private final int[] rows;
+        private final int[] offsets;
+
+        private Partitions(int[] rows, int[] offsets) {
+            this.rows = rows;
+            this.offsets = offsets;
+        }
+
+        private int start(int partition) {
+            return offsets[partition];
+        }
+
+        private int end(int partition) {
+            return offsets[partition + 1];
+        }
+    }
+}
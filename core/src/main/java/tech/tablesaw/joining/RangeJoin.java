@@ -0,0 +1,238 @@
+package tech.tablesaw.joining;
+
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import tech.tablesaw.api.ColumnType;
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.FloatColumn;
+import tech.tablesaw.columns.Column;
+import tech.tablesaw.columns.booleans.BooleanColumnType;
+import tech.tablesaw.columns.numbers.DoubleColumnType;
+import tech.tablesaw.columns.numbers.FloatColumnType;
+
+import java.util.Arrays;
+
+/**
+ * A non-equi join, which matches a left row to every right row whose range contains the left row's key. The range of
+ * a right row is given by a low column, a high column, or both, and each end may be inclusive or exclusive; so this
+ * covers {@code x BETWEEN lo AND hi} as well as {@code x < y}, {@code x <= y}, {@code x > y} and {@code x >= y}.
+ *
+ * The join is a sweep line. The left rows are visited in key order, and the right rows are added to a heap, ordered
+ * by their high ends, as soon as their low ends are passed; a right row is removed from the heap once the left key
+ * has passed its high end. Every right row in the heap then matches the current left row, so the work done is
+ * proportional to the size of the output, plus the cost of sorting the two tables.
+ */
+final class RangeJoin {
+
+    private final Column<?> key;
+    private final Column<?> low;
+    private final Column<?> high;
+    private final boolean lowInclusive;
+    private final boolean highInclusive;
+
+    /**
+     * @param key  the key column of the left table
+     * @param low  the column of the right table holding the low end of each range, or null if there is no low end
+     * @param high the column of the right table holding the high end of each range, or null if there is no high end
+     */
+    RangeJoin(Column<?> key, Column<?> low, boolean lowInclusive, Column<?> high, boolean highInclusive) {
+        checkRangeColumns(key, low);
+        checkRangeColumns(key, high);
+        this.key = key;
+        this.low = low;
+        this.high = high;
+        this.lowInclusive = lowInclusive;
+        this.highInclusive = highInclusive;
+    }
+
+    private static void checkRangeColumns(Column<?> key, Column<?> bound) {
+        if (!isRangeKey(key.type())) {
+            throw new IllegalArgumentException("Range joins are supported on numeric and date-like columns. Column "
+                    + key.name() + " is of type " + key.type());
+        }
+        if (bound != null && !key.type().equals(bound.type())) {
+            throw new IllegalArgumentException("Column " + key.name() + " of type " + key.type()
+                    + " cannot be compared to column " + bound.name() + " of type " + bound.type());
+        }
+    }
+
+    private static boolean isRangeKey(ColumnType type) {
+        return JoinIndex.isLongKey(type) && !(type instanceof BooleanColumnType);
+    }
+
+    /**
+     * Returns the matching rows, ordered by left row and then by right row
+     */
+    RowPairs join() {
+        int rightSize = low != null ? low.size() : high.size();
+        long[] lowKeys = boundKeys(low, rightSize, Long.MIN_VALUE);
+        long[] highKeys = boundKeys(high, rightSize, Long.MAX_VALUE);
+        long[] leftKeys = new long[key.size()];
+        for (int row = 0; row < leftKeys.length; row++) {
+            leftKeys[row] = sortKey(key, row);
+        }
+        int[] leftOrder = sortedRows(key, leftKeys);
+        int[] rightOrder = sortedRows(rightSize, lowKeys);
+
+        // the pairs in the order they are found, i.e. in order of left key
+        RowPairs found = new RowPairs(leftOrder.length);
+        int[] counts = new int[leftKeys.length];
+        HighHeap active = new HighHeap(highKeys);
+        int r = 0;
+        for (int leftRow : leftOrder) {
+            long x = leftKeys[leftRow];
+            while (r < rightOrder.length && below(lowKeys[rightOrder[r]], x, lowInclusive || low == null)) {
+                active.push(rightOrder[r++]);
+            }
+            while (active.size > 0 && !below(x, highKeys[active.peek()], highInclusive || high == null)) {
+                active.pop();
+            }
+            for (int i = 0; i < active.size; i++) {
+                found.add(leftRow, active.rows[i]);
+            }
+            counts[leftRow] = active.size;
+        }
+        return inLeftRowOrder(found, counts);
+    }
+
+    /**
+     * Returns true if a is less than b, or equal to it if {@code inclusive} is true
+     */
+    private static boolean below(long a, long b, boolean inclusive) {
+        return inclusive ? a <= b : a < b;
+    }
+
+    /**
+     * Returns the sort keys of the given bound column, or the given value for every row if there is no such column
+     */
+    private static long[] boundKeys(Column<?> bound, int size, long unbounded) {
+        long[] keys = new long[size];
+        for (int row = 0; row < size; row++) {
+            keys[row] = bound == null ? unbounded : sortKey(bound, row);
+        }
+        return keys;
+    }
+
+    /**
+     * Returns the non-missing rows of the given column, in ascending key order
+     */
+    private static int[] sortedRows(Column<?> column, long[] keys) {
+        int[] rows = new int[keys.length];
+        int size = 0;
+        for (int row = 0; row < keys.length; row++) {
+            if (!column.isMissing(row)) {
+                rows[size++] = row;
+            }
+        }
+        IntArrays.quickSort(rows, 0, size, (a, b) -> Long.compare(keys[a], keys[b]));
+        return IntArrays.trim(rows, size);
+    }
+
+    /**
+     * Returns the right rows whose bounds are present, in ascending order of their low ends
+     */
+    private int[] sortedRows(int size, long[] lowKeys) {
+        int[] rows = new int[size];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if ((low == null || !low.isMissing(row)) && (high == null || !high.isMissing(row))) {
+                rows[count++] = row;
+            }
+        }
+        IntArrays.quickSort(rows, 0, count, (a, b) -> Long.compare(lowKeys[a], lowKeys[b]));
+        return IntArrays.trim(rows, count);
+    }
+
+    /**
+     * Reorders the given pairs by left row, using the number of pairs found for each left row, and sorts the right
+     * rows paired with each left row
+     */
+    private static RowPairs inLeftRowOrder(RowPairs found, int[] counts) {
+        int[] offsets = new int[counts.length + 1];
+        for (int row = 0; row < counts.length; row++) {
+            offsets[row + 1] = offsets[row] + counts[row];
+        }
+        int[] leftRows = new int[found.size()];
+        int[] rightRows = new int[found.size()];
+        int[] next = Arrays.copyOf(offsets, counts.length);
+        for (int i = 0; i < found.size(); i++) {
+            int leftRow = found.leftRows().getInt(i);
+            int position = next[leftRow]++;
+            leftRows[position] = leftRow;
+            rightRows[position] = found.rightRows().getInt(i);
+        }
+        for (int row = 0; row < counts.length; row++) {
+            if (counts[row] > 1) {
+                IntArrays.quickSort(rightRows, offsets[row], offsets[row + 1]);
+            }
+        }
+        return RowPairs.wrap(leftRows, rightRows);
+    }
+
+    /**
+     * Returns the value in the given row as a long that sorts in the same order as the values of the column
+     */
+    static long sortKey(Column<?> column, int row) {
+        ColumnType type = column.type();
+        if (type instanceof DoubleColumnType) {
+            // adding 0.0 turns -0.0 into 0.0, so that they compare as equal
+            long bits = Double.doubleToLongBits(((DoubleColumn) column).getDouble(row) + 0.0);
+            return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+        } else if (type instanceof FloatColumnType) {
+            int bits = Float.floatToIntBits(((FloatColumn) column).getFloat(row) + 0.0f);
+            return bits ^ ((bits >> 31) & Integer.MAX_VALUE);
+        }
+        return JoinIndex.longKey(column, row);
+    }
+
+    /**
+     * A binary min-heap of right rows, ordered by the high ends of their ranges
+     */
+    private static final class HighHeap {
+
+        private final long[] highKeys;
+        private int[] rows = new int[16];
+        private int size;
+
+        HighHeap(long[] highKeys) {
+            this.highKeys = highKeys;
+        }
+
+        int peek() {
+            return rows[0];
+        }
+
+        void push(int row) {
+            rows = IntArrays.grow(rows, size + 1);
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (highKeys[rows[parent]] <= highKeys[row]) {
+                    break;
+                }
+                rows[i] = rows[parent];
+                i = parent;
+            }
+            rows[i] = row;
+        }
+
+        void pop() {
+            int last = rows[--size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && highKeys[rows[child + 1]] < highKeys[rows[child]]) {
+                    child++;
+                }
+                if (highKeys[last] <= highKeys[rows[child]]) {
+                    break;
+                }
+                rows[i] = rows[child];
+                i = child;
+            }
+            rows[i] = last;
+        }
+    }
+}
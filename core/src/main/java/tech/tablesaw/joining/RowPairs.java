@@ -0,0 +1,63 @@
+package tech.tablesaw.joining;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import tech.tablesaw.api.Table;
+
+/**
+ * The output of the probe phase of a join: a list of (left row, right row) pairs, held in two primitive int lists.
+ *
+ * A row number of -1 means that there is no row on that side, so the corresponding output columns are missing.
+ */
+final class RowPairs {
+
+    static final int MISSING = -1;
+
+    private final IntArrayList leftRows;
+    private final IntArrayList rightRows;
+
+    RowPairs() {
+        this(16);
+    }
+
+    RowPairs(int expectedSize) {
+        this.leftRows = new IntArrayList(expectedSize);
+        this.rightRows = new IntArrayList(expectedSize);
+    }
+
+    /**
+     * Returns pairs backed by the given arrays, which must have the same length
+     */
+    static RowPairs wrap(int[] leftRows, int[] rightRows) {
+        return new RowPairs(IntArrayList.wrap(leftRows), IntArrayList.wrap(rightRows));
+    }
+
+    private RowPairs(IntArrayList leftRows, IntArrayList rightRows) {
+        this.leftRows = leftRows;
+        this.rightRows = rightRows;
+    }
+
+    void add(int leftRow, int rightRow) {
+        leftRows.add(leftRow);
+        rightRows.add(rightRow);
+    }
+
+    int size() {
+        return leftRows.size();
+    }
+
+    IntArrayList leftRows() {
+        return leftRows;
+    }
+
+    IntArrayList rightRows() {
+        return rightRows;
+    }
+
+    /**
+     * Returns a new table containing all the columns of the left table, followed by the columns of the right table
+     * other than the given join columns, with one row for each pair
+     */
+    Table materialize(Table left, Table right, String... rightJoinColumnNames) {
+        return new JoinedRelation(left, right, this, rightJoinColumnNames).asTable();
+    }
+}
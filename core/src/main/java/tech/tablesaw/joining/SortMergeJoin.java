@@ -0,0 +1,69 @@
+package tech.tablesaw.joining;
+
+import tech.tablesaw.columns.Column;
+
+/**
+ * A streaming merge join on a single key column, for tables that are both already sorted on their join keys.
+ *
+ * Unlike the hash join, the merge join needs no memory beyond its output, so it can join tables that are too large
+ * to index, such as two large tables that are both in date order. It produces the same rows, in the same order,
+ * as the hash join.
+ */
+final class SortMergeJoin {
+
+    // Don't instantiate
+    private SortMergeJoin() {}
+
+    /**
+     * Returns true if the given columns can be merge joined, i.e. if there is exactly one join column on each side,
+     * and the keys in each are in ascending order
+     */
+    static boolean canJoin(Column<?>[] leftColumns, Column<?>[] rightColumns) {
+        return leftColumns.length == 1
+                && rightColumns.length == 1
+                && JoinIndex.isLongKey(leftColumns[0].type())
+                && leftColumns[0].type().equals(rightColumns[0].type())
+                && isAscending(leftColumns[0])
+                && isAscending(rightColumns[0]);
+    }
+
+    /**
+     * Returns true if the join keys of the given column are in ascending order
+     */
+    static boolean isAscending(Column<?> column) {
+        for (int i = 1; i < column.size(); i++) {
+            if (JoinIndex.longKey(column, i - 1) > JoinIndex.longKey(column, i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the matching rows of the given sorted columns
+     *
+     * @param outer if true, left rows that match no right row are included, paired with a missing right row
+     */
+    static RowPairs join(Column<?> left, Column<?> right, boolean outer) {
+        RowPairs rowPairs = new RowPairs(left.size());
+        int rightSize = right.size();
+
+        // the first right row whose key is not less than the current left key
+        int runStart = 0;
+        for (int leftRow = 0; leftRow < left.size(); leftRow++) {
+            long key = JoinIndex.longKey(left, leftRow);
+            while (runStart < rightSize && JoinIndex.longKey(right, runStart) < key) {
+                runStart++;
+            }
+            int rightRow = runStart;
+            while (rightRow < rightSize && JoinIndex.longKey(right, rightRow) == key) {
+                rowPairs.add(leftRow, rightRow);
+                rightRow++;
+            }
+            if (outer && rightRow == runStart) {
+                rowPairs.add(leftRow, RowPairs.MISSING);
+            }
+        }
+        return rowPairs;
+    }
+}
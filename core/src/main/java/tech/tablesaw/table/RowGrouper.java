@@ -0,0 +1,495 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.tablesaw.table;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntComparator;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import tech.tablesaw.api.BooleanColumn;
+import tech.tablesaw.api.DateColumn;
+import tech.tablesaw.api.DateTimeColumn;
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.FloatColumn;
+import tech.tablesaw.api.IntColumn;
+import tech.tablesaw.api.LongColumn;
+import tech.tablesaw.api.ShortColumn;
+import tech.tablesaw.api.StringColumn;
+import tech.tablesaw.api.TextColumn;
+import tech.tablesaw.api.TimeColumn;
+import tech.tablesaw.columns.Column;
+import tech.tablesaw.sorting.comparators.IntComparatorChain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntConsumer;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Assigns each row of a table an int group id, so that two rows have the same id if and only if they have the same
+ * values in the grouping columns.
+ *
+ * The rows are grouped in a single pass, and the table is neither sorted nor copied. When every grouping column holds
+ * integer codes (dictionary keys for StringColumns, bytes for BooleanColumns, packed ints and longs for the date and
+ * time columns, and the values of the integer columns), the codes of a row are combined into a single long with
+ * mixed-radix arithmetic, using the range of codes in each column as its radix. If the product of those ranges is
+ * small, the combined code indexes a dense array of group ids; otherwise it is looked up in a hash table, but no keys
+ * need to be compared. For other columns, a hash table keyed on a hash of the grouping values is used, and rows with
+ * equal hashes are compared value by value.
+ *
+ * Group ids are numbered in the sort order of the grouping values, so groups come out in the same order as they would
+ * from grouping a sorted copy of the table.
+ *
+ * Large tables can be grouped on several threads: each chunk of rows is grouped on its own, with its own hash table,
+ * and the chunks' groups are then merged in row order.
+ */
+final class RowGrouper {
+
+    private static final int NO_GROUP = -1;
+
+    /**
+     * Combined codes below this bound are always grouped with a dense array
+     */
+    private static final int MIN_DENSE_SIZE = 1 << 16;
+
+    /**
+     * The number of rows in each chunk of a table that is processed on its own, when grouping or aggregating in
+     * parallel
+     */
+    static final int CHUNK_SIZE = 1 << 16;
+
+    private final Column<?>[] columns;
+
+    /**
+     * The group id of each row
+     */
+    private final int[] groupIds;
+
+    /**
+     * The first row of each group, indexed by group id
+     */
+    private final int[] firstRows;
+
+    RowGrouper(Column<?>... columns) {
+        this(1, columns);
+    }
+
+    /**
+     * Groups the rows of the given columns, using up to the given number of threads. The result doesn't depend on the
+     * number of threads.
+     */
+    RowGrouper(int parallelism, Column<?>... columns) {
+        this(parallelism, columns, columns.length == 0 ? 0 : columns[0].size(),
+                combinedCodes(columns, columns.length == 0 ? 0 : columns[0].size()));
+    }
+
+    /**
+     * Groups rows by the given keys, one for each row, using up to the given number of threads. The groups are
+     * numbered in the order of their keys.
+     */
+    RowGrouper(int parallelism, long[] keys) {
+        this(parallelism, new Column<?>[0], keys.length, keyCodes(keys));
+    }
+
+    private RowGrouper(int parallelism, Column<?>[] columns, int rowCount, long[] codes) {
+        this.columns = columns;
+        IntArrayList firstRowsFound = new IntArrayList();
+        if (parallelism == 1 || rowCount <= CHUNK_SIZE) {
+            this.groupIds = group(codes, denseSize(rowCount), rowCount, row -> row, firstRowsFound);
+        } else {
+            this.groupIds = groupInParallel(parallelism, codes, rowCount, firstRowsFound);
+        }
+        this.firstRows = firstRowsFound.toIntArray();
+        renumberInSortOrder(codes);
+    }
+
+    /**
+     * Groups each chunk of rows on its own, concurrently, and then groups the first rows of the chunks' groups. Those
+     * rows are grouped in row order, so every group gets the same id as it would from grouping all the rows serially.
+     */
+    private int[] groupInParallel(int parallelism, long[] codes, int rowCount, IntArrayList firstRowsFound) {
+        int chunkCount = chunkCount(rowCount);
+        int[][] localIds = new int[chunkCount][];
+        int[][] localFirstRows = new int[chunkCount][];
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            invokeAll(pool, chunkCount, chunk -> {
+                int start = chunk * CHUNK_SIZE;
+                int end = Math.min(rowCount, start + CHUNK_SIZE);
+                IntArrayList chunkFirstRows = new IntArrayList();
+                localIds[chunk] = group(codes, MIN_DENSE_SIZE, end - start, i -> start + i, chunkFirstRows);
+                localFirstRows[chunk] = chunkFirstRows.toIntArray();
+            });
+
+            int[] offsets = new int[chunkCount + 1];
+            for (int chunk = 0; chunk < chunkCount; chunk++) {
+                offsets[chunk + 1] = offsets[chunk] + localFirstRows[chunk].length;
+            }
+            int[] representatives = new int[offsets[chunkCount]];
+            for (int chunk = 0; chunk < chunkCount; chunk++) {
+                System.arraycopy(localFirstRows[chunk], 0, representatives, offsets[chunk], localFirstRows[chunk].length);
+            }
+            int[] globalIds = group(codes, denseSize(rowCount), representatives.length, i -> representatives[i],
+                    firstRowsFound);
+
+            int[] ids = new int[rowCount];
+            invokeAll(pool, chunkCount, chunk -> {
+                int start = chunk * CHUNK_SIZE;
+                int[] chunkIds = localIds[chunk];
+                for (int i = 0; i < chunkIds.length; i++) {
+                    ids[start + i] = globalIds[offsets[chunk] + chunkIds[i]];
+                }
+            });
+            return ids;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Returns the number of chunks of {@link #CHUNK_SIZE} rows needed to hold the given number of rows
+     */
+    static int chunkCount(int rowCount) {
+        return (rowCount + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    }
+
+    /**
+     * Runs the given action for every integer from 0 to count - 1, on the given pool, and waits for them all to finish
+     */
+    static void invokeAll(ForkJoinPool pool, int count, IntConsumer action) {
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final int taskNumber = i;
+            tasks.add(pool.submit(() -> action.accept(taskNumber)));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+    }
+
+    /**
+     * Returns the largest number of distinct combined codes that are grouped with a dense array, for a table with the
+     * given number of rows
+     */
+    private static long denseSize(int rowCount) {
+        return Math.max(MIN_DENSE_SIZE, 2L * rowCount);
+    }
+
+    /**
+     * Groups the given number of rows, and returns the group id of each. The rows are given by index, and the first row
+     * of each new group is added to the given list, whose size is the number of groups found so far.
+     *
+     * @param codes      the combined codes of all the rows of the table, or null if they can't be combined
+     * @param denseLimit the largest number of possible combined codes for which a dense array is used
+     */
+    private int[] group(long[] codes, long denseLimit, int count, IntUnaryOperator rowAt,
+                        IntArrayList firstRowsFound) {
+        if (codes == null) {
+            return groupByHash(count, rowAt, firstRowsFound);
+        } else if (codes[codes.length - 1] <= denseLimit) {
+            return groupByDenseCode(codes, count, rowAt, firstRowsFound);
+        }
+        return groupByCode(codes, count, rowAt, firstRowsFound);
+    }
+
+    private static int[] groupByDenseCode(long[] codes, int count, IntUnaryOperator rowAt,
+                                          IntArrayList firstRowsFound) {
+        int[] ids = new int[count];
+        // the last element holds the number of distinct combined codes
+        int[] groupByCode = new int[(int) codes[codes.length - 1]];
+        Arrays.fill(groupByCode, NO_GROUP);
+        for (int i = 0; i < count; i++) {
+            int row = rowAt.applyAsInt(i);
+            int code = (int) codes[row];
+            int group = groupByCode[code];
+            if (group == NO_GROUP) {
+                group = firstRowsFound.size();
+                firstRowsFound.add(row);
+                groupByCode[code] = group;
+            }
+            ids[i] = group;
+        }
+        return ids;
+    }
+
+    private static int[] groupByCode(long[] codes, int count, IntUnaryOperator rowAt, IntArrayList firstRowsFound) {
+        int[] ids = new int[count];
+        Long2IntOpenHashMap groupByCode = new Long2IntOpenHashMap();
+        groupByCode.defaultReturnValue(NO_GROUP);
+        for (int i = 0; i < count; i++) {
+            int row = rowAt.applyAsInt(i);
+            int group = groupByCode.get(codes[row]);
+            if (group == NO_GROUP) {
+                group = firstRowsFound.size();
+                firstRowsFound.add(row);
+                groupByCode.put(codes[row], group);
+            }
+            ids[i] = group;
+        }
+        return ids;
+    }
+
+    private int[] groupByHash(int count, IntUnaryOperator rowAt, IntArrayList firstRowsFound) {
+        int[] ids = new int[count];
+        Long2IntOpenHashMap firstGroupByHash = new Long2IntOpenHashMap();
+        firstGroupByHash.defaultReturnValue(NO_GROUP);
+        // groups whose keys have the same hash are chained together
+        IntArrayList nextGroupWithHash = new IntArrayList();
+        for (int i = 0; i < count; i++) {
+            int row = rowAt.applyAsInt(i);
+            long hash = hash(row);
+            int first = firstGroupByHash.get(hash);
+            int group = first;
+            while (group != NO_GROUP && !keysEqual(firstRowsFound.getInt(group), row)) {
+                group = nextGroupWithHash.getInt(group);
+            }
+            if (group == NO_GROUP) {
+                group = firstRowsFound.size();
+                firstRowsFound.add(row);
+                nextGroupWithHash.add(first);
+                firstGroupByHash.put(hash, group);
+            }
+            ids[i] = group;
+        }
+        return ids;
+    }
+
+    /**
+     * Returns the mixed-radix combination of the codes of the given columns in each row, followed by one more element
+     * holding the number of possible combinations; or null if a column doesn't hold integer codes, or the number of
+     * combinations doesn't fit in a long
+     */
+    private static long[] combinedCodes(Column<?>[] columns, int rowCount) {
+        for (Column<?> column : columns) {
+            if (!hasCodes(column)) {
+                return null;
+            }
+        }
+        long[] codes = new long[rowCount + 1];
+        codes[rowCount] = 1;
+        for (Column<?> column : columns) {
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            for (int row = 0; row < rowCount; row++) {
+                long code = code(column, row);
+                min = Math.min(min, code);
+                max = Math.max(max, code);
+            }
+            long radix;
+            try {
+                radix = rowCount == 0 ? 1 : Math.addExact(Math.subtractExact(max, min), 1);
+                codes[rowCount] = Math.multiplyExact(codes[rowCount], radix);
+            } catch (ArithmeticException e) {
+                return null;
+            }
+            for (int row = 0; row < rowCount; row++) {
+                codes[row] = codes[row] * radix + (code(column, row) - min);
+            }
+        }
+        return codes;
+    }
+
+    /**
+     * Returns the given keys, less the smallest key if that keeps them in range, followed by the number of possible
+     * codes. The codes are in the same order as the keys.
+     */
+    private static long[] keyCodes(long[] keys) {
+        long[] codes = Arrays.copyOf(keys, keys.length + 1);
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (long key : keys) {
+            min = Math.min(min, key);
+            max = Math.max(max, key);
+        }
+        try {
+            codes[keys.length] = keys.length == 0 ? 1 : Math.addExact(Math.subtractExact(max, min), 1);
+        } catch (ArithmeticException e) {
+            // too wide a range to index densely, so the keys are hashed as they are
+            codes[keys.length] = Long.MAX_VALUE;
+            return codes;
+        }
+        for (int row = 0; row < keys.length; row++) {
+            codes[row] -= min;
+        }
+        return codes;
+    }
+
+    private static boolean hasCodes(Column<?> column) {
+        return column instanceof StringColumn
+                || column instanceof IntColumn
+                || column instanceof LongColumn
+                || column instanceof ShortColumn
+                || column instanceof BooleanColumn
+                || column instanceof DateColumn
+                || column instanceof TimeColumn
+                || column instanceof DateTimeColumn;
+    }
+
+    /**
+     * Returns the integer code of the value in the given row of a column for which {@link #hasCodes(Column)} is true.
+     * Two rows of the column have the same code if and only if they hold the same value.
+     */
+    private static long code(Column<?> column, int row) {
+        if (column instanceof StringColumn) {
+            return ((StringColumn) column).getKeyForIndex(row);
+        }
+        return valueHash(column, row);
+    }
+
+    /**
+     * Returns the number of groups
+     */
+    int groupCount() {
+        return firstRows.length;
+    }
+
+    /**
+     * Returns the group id of the given row
+     */
+    int groupId(int row) {
+        return groupIds[row];
+    }
+
+    /**
+     * Returns the first row of the given group
+     */
+    int firstRow(int group) {
+        return firstRows[group];
+    }
+
+    /**
+     * Returns the rows of each group, in ascending order, indexed by group id
+     */
+    int[][] rowsByGroup() {
+        int[] counts = new int[groupCount()];
+        for (int group : groupIds) {
+            counts[group]++;
+        }
+        int[][] rows = new int[groupCount()][];
+        for (int group = 0; group < rows.length; group++) {
+            rows[group] = new int[counts[group]];
+        }
+        int[] next = new int[groupCount()];
+        for (int row = 0; row < groupIds.length; row++) {
+            int group = groupIds[row];
+            rows[group][next[group]++] = row;
+        }
+        return rows;
+    }
+
+    /**
+     * Renumbers the groups so that their ids are in the sort order of their keys: the values in the grouping columns,
+     * or the codes if there are no columns
+     */
+    private void renumberInSortOrder(long[] codes) {
+        if (firstRows.length < 2) {
+            return;
+        }
+        IntComparator comparator;
+        if (columns.length == 0) {
+            comparator = (row1, row2) -> Long.compare(codes[row1], codes[row2]);
+        } else {
+            IntComparatorChain chain = new IntComparatorChain(columns[0].rowComparator());
+            for (int c = 1; c < columns.length; c++) {
+                chain.addComparator(columns[c].rowComparator());
+            }
+            comparator = chain;
+        }
+        int[] order = new int[firstRows.length];
+        for (int group = 0; group < order.length; group++) {
+            order[group] = group;
+        }
+        IntArrays.quickSort(order, (a, b) -> comparator.compare(firstRows[a], firstRows[b]));
+
+        int[] newIds = new int[order.length];
+        int[] sortedFirstRows = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            newIds[order[i]] = i;
+            sortedFirstRows[i] = firstRows[order[i]];
+        }
+        System.arraycopy(sortedFirstRows, 0, firstRows, 0, firstRows.length);
+        for (int row = 0; row < groupIds.length; row++) {
+            groupIds[row] = newIds[groupIds[row]];
+        }
+    }
+
+    private long hash(int row) {
+        long hash = 1;
+        for (Column<?> column : columns) {
+            hash = 31 * hash + HashCommon.mix(valueHash(column, row));
+        }
+        return HashCommon.mix(hash);
+    }
+
+    private boolean keysEqual(int row1, int row2) {
+        for (Column<?> column : columns) {
+            if (!valuesEqual(column, row1, row2)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash of the value in the given row of the given column, read without boxing where the column type
+     * allows it
+     */
+    private static long valueHash(Column<?> column, int row) {
+        if (column instanceof StringColumn || column instanceof TextColumn) {
+            return column.getUnformattedString(row).hashCode();
+        } else if (column instanceof IntColumn) {
+            return ((IntColumn) column).getInt(row);
+        } else if (column instanceof LongColumn) {
+            return ((LongColumn) column).getLong(row);
+        } else if (column instanceof ShortColumn) {
+            return ((ShortColumn) column).getShort(row);
+        } else if (column instanceof DoubleColumn) {
+            return Double.doubleToLongBits(((DoubleColumn) column).getDouble(row));
+        } else if (column instanceof FloatColumn) {
+            return Float.floatToIntBits(((FloatColumn) column).getFloat(row));
+        } else if (column instanceof BooleanColumn) {
+            return ((BooleanColumn) column).getByte(row);
+        } else if (column instanceof DateColumn) {
+            return ((DateColumn) column).getIntInternal(row);
+        } else if (column instanceof TimeColumn) {
+            return ((TimeColumn) column).getIntInternal(row);
+        } else if (column instanceof DateTimeColumn) {
+            return ((DateTimeColumn) column).getLongInternal(row);
+        }
+        return Objects.hashCode(column.get(row));
+    }
+
+    private static boolean valuesEqual(Column<?> column, int row1, int row2) {
+        if (column instanceof StringColumn || column instanceof TextColumn) {
+            return column.getUnformattedString(row1).equals(column.getUnformattedString(row2));
+        } else if (column instanceof IntColumn
+                || column instanceof LongColumn
+                || column instanceof ShortColumn
+                || column instanceof DoubleColumn
+                || column instanceof FloatColumn
+                || column instanceof BooleanColumn
+                || column instanceof DateColumn
+                || column instanceof TimeColumn
+                || column instanceof DateTimeColumn) {
+            return valueHash(column, row1) == valueHash(column, row2);
+        }
+        return Objects.equals(column.get(row1), column.get(row2));
+    }
+}
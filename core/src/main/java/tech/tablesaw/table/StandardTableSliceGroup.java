@@ -18,10 +18,8 @@ import tech.tablesaw.api.CategoricalColumn;
 import tech.tablesaw.api.Table;
 import tech.tablesaw.columns.Column;
 import tech.tablesaw.selection.BitmapBackedSelection;
-import tech.tablesaw.selection.Selection;
 
-import java.nio.ByteBuffer;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -29,10 +27,22 @@ import java.util.List;
  */
 public class StandardTableSliceGroup extends TableSliceGroup {
 
-    private StandardTableSliceGroup(Table original, CategoricalColumn<?>... columns) {
+    private RowGrouper grouper;
+
+    // The time intervals the rows are grouped by, and the interval of each row; or null if grouped on column values
+    private TimeBucket bucket;
+    private long[] intervals;
+
+    private StandardTableSliceGroup(Table original, int parallelism, CategoricalColumn<?>... columns) {
         super(original, splitColumnNames(columns));
-        setSourceTable(getSourceTable().sortOn(getSplitColumnNames()));
-        splitOn(getSplitColumnNames());
+        parallel(parallelism);
+        splitOn(parallelism, getSplitColumnNames());
+    }
+
+    private StandardTableSliceGroup(Table original, int parallelism, TimeBucket bucket) {
+        super(original, new String[] {bucket.columnName()});
+        parallel(parallelism);
+        splitOn(parallelism, bucket);
     }
 
     private static String[] splitColumnNames(CategoricalColumn<?>... columns) {
@@ -48,8 +58,16 @@ public class StandardTableSliceGroup extends TableSliceGroup {
      * The named columns must be CategoricalColumns
      */
     public static StandardTableSliceGroup create(Table original, String... columnsNames) {
+        return create(original, 1, columnsNames);
+    }
+
+    /**
+     * Returns a viewGroup splitting the original table on the given columns, grouping and aggregating on the given
+     * number of threads. The named columns must be CategoricalColumns
+     */
+    public static StandardTableSliceGroup create(Table original, int parallelism, String... columnsNames) {
         List<CategoricalColumn<?>> columns = original.categoricalColumns(columnsNames);
-        return new StandardTableSliceGroup(original, columns.toArray(new CategoricalColumn<?>[0]));
+        return new StandardTableSliceGroup(original, parallelism, columns.toArray(new CategoricalColumn<?>[0]));
     }
 
     /**
@@ -57,60 +75,100 @@ public class StandardTableSliceGroup extends TableSliceGroup {
      * The named columns must be CategoricalColumns
      */
     public static StandardTableSliceGroup create(Table original, CategoricalColumn<?>... columns) {
-        return new StandardTableSliceGroup(original, columns);
+        return create(original, 1, columns);
     }
 
     /**
-     * Splits the sourceTable table into sub-tables, grouping on the columns whose names are given in
-     * splitColumnNames
+     * Returns a viewGroup splitting the original table on the given columns, grouping and aggregating on the given
+     * number of threads. The named columns must be CategoricalColumns
      */
-    private void splitOn(String... columnNames) {
-
-        List<Column<?>> columns = getSourceTable().columns(columnNames);
-        int byteSize = getByteSize(columns);
-
-        byte[] currentKey = null;
-        String currentStringKey = null;
-        TableSlice view;
+    public static StandardTableSliceGroup create(Table original, int parallelism, CategoricalColumn<?>... columns) {
+        return new StandardTableSliceGroup(original, parallelism, columns);
+    }
 
-        Selection selection = new BitmapBackedSelection();
+    /**
+     * Returns a viewGroup splitting the original table into the given time intervals of one of its columns, grouping
+     * and aggregating on the given number of threads. The slices are in time order, and the column holding the
+     * intervals in the result of an aggregation holds the start of each interval.
+     */
+    public static StandardTableSliceGroup create(Table original, int parallelism, TimeBucket bucket) {
+        return new StandardTableSliceGroup(original, parallelism, bucket);
+    }
 
-        for (int row = 0; row < getSourceTable().rowCount(); row++) {
+    /**
+     * Splits the sourceTable table into sub-tables, grouping on the columns whose names are given in
+     * splitColumnNames. The rows are grouped by hashing, so the source table is not sorted; the slices are still
+     * ordered by their grouping values, and each slice holds its rows in their original order.
+     */
+    private void splitOn(int parallelism, String... columnNames) {
+        Table source = getSourceTable();
+        Column<?>[] columns = source.columns(columnNames).toArray(new Column<?>[0]);
+        grouper = new RowGrouper(parallelism, columns);
+        int[][] rowsByGroup = grouper.rowsByGroup();
+        for (int group = 0; group < rowsByGroup.length; group++) {
+            TableSlice view = new TableSlice(source, new BitmapBackedSelection(rowsByGroup[group]));
+            view.setName(groupName(columns, grouper.firstRow(group)));
+            addSlice(view);
+        }
+    }
 
-            ByteBuffer byteBuffer = ByteBuffer.allocate(byteSize);
-            StringBuilder newStringKey = new StringBuilder();
+    /**
+     * Splits the sourceTable table into sub-tables, one for each of the given time intervals that holds any rows
+     */
+    private void splitOn(int parallelism, TimeBucket bucket) {
+        Table source = getSourceTable();
+        Column<?> column = source.column(bucket.columnName());
+        this.bucket = bucket;
+        this.intervals = bucket.intervals(source);
+        grouper = new RowGrouper(parallelism, intervals);
+        int[][] rowsByGroup = grouper.rowsByGroup();
+        for (int group = 0; group < rowsByGroup.length; group++) {
+            TableSlice view = new TableSlice(source, new BitmapBackedSelection(rowsByGroup[group]));
+            int firstRow = grouper.firstRow(group);
+            view.setName(column.isMissing(firstRow) ? "" : bucket.start(column, intervals[firstRow]).toString());
+            addSlice(view);
+        }
+    }
 
-            for (int col = 0; col < columnNames.length; col++) {
-                if (col > 0) {
-                    newStringKey.append(SPLIT_STRING);
-                }
+    @Override
+    RowGrouper grouper() {
+        return grouper;
+    }
 
-                Column<?> c = getSourceTable().column(columnNames[col]);
-                String groupKey = getSourceTable().getUnformatted(row, getSourceTable().columnIndex(c));
-                newStringKey.append(groupKey);
-                byteBuffer.put(c.asBytes(row));
-            }
-            byte[] newKey = byteBuffer.array();
-            if (row == 0) {
-                currentKey = newKey;
-                currentStringKey = newStringKey.toString();
-            }
-            if (!Arrays.equals(newKey, currentKey)) {
-                currentKey = newKey;
-                view = new TableSlice(getSourceTable(), selection);
-                view.setName(currentStringKey);
-                currentStringKey = newStringKey.toString();
-                addSlice(view);
-                selection = new BitmapBackedSelection();
-                selection.add(row);
+    /**
+     * Returns the grouping columns, or if I was split into time intervals, a column holding the start of each
+     */
+    @Override
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    List<Column<?>> groupColumns() {
+        if (bucket == null) {
+            return super.groupColumns();
+        }
+        Column column = getSourceTable().column(bucket.columnName());
+        Column starts = column.emptyCopy();
+        for (int group = 0; group < grouper.groupCount(); group++) {
+            int firstRow = grouper.firstRow(group);
+            if (column.isMissing(firstRow)) {
+                starts.appendMissing();
             } else {
-                selection.add(row);
+                starts.appendObj(bucket.start(column, intervals[firstRow]));
             }
         }
-        if (!selection.isEmpty()) {
-            view = new TableSlice(getSourceTable(), selection);
-            view.setName(currentStringKey);
-            addSlice(view);
+        return Collections.singletonList(starts);
+    }
+
+    /**
+     * Returns the name of the slice whose first row is the given row: the unformatted values of the grouping columns
+     * in that row, separated by SPLIT_STRING
+     */
+    private static String groupName(Column<?>[] columns, int row) {
+        StringBuilder name = new StringBuilder();
+        for (int col = 0; col < columns.length; col++) {
+            if (col > 0) {
+                name.append(SPLIT_STRING);
+            }
+            name.append(columns[col].getUnformattedString(row));
         }
+        return name.toString();
     }
 }
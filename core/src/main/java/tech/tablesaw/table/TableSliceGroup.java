@@ -15,37 +15,48 @@
 package tech.tablesaw.table;
 
 import com.google.common.base.Preconditions;
-import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Lists;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import tech.tablesaw.aggregate.Accumulator;
 import tech.tablesaw.aggregate.AggregateFunction;
+import tech.tablesaw.aggregate.HyperLogLog;
+import tech.tablesaw.aggregate.OrderStatistics;
+import tech.tablesaw.aggregate.PercentileFunction;
+import tech.tablesaw.api.BooleanColumn;
 import tech.tablesaw.api.ColumnType;
+import tech.tablesaw.api.LongColumn;
+import tech.tablesaw.api.NumericColumn;
 import tech.tablesaw.api.StringColumn;
 import tech.tablesaw.api.Table;
 import tech.tablesaw.columns.Column;
+import tech.tablesaw.selection.BitmapBackedSelection;
+import tech.tablesaw.selection.Selection;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * A group of tables formed by performing splitting operations on an original table
  */
 public class TableSliceGroup implements Iterable<TableSlice> {
 
-    // A string that is used internally as a delimiter in creating a column name from all the grouping columns
+    // A string that separates the values of the grouping columns in the name of a slice
     protected static final String SPLIT_STRING = "~~~";
 
-    // A function that splits the group column name back into the original column names for the grouping columns
-    private static final Splitter SPLITTER = Splitter.on(SPLIT_STRING);
-
     // The list of slices or views over the source table that I contain
     private final List<TableSlice> subTables = new ArrayList<>();
 
     private final String[] splitColumnNames;
 
     // The table that underlies all the manipulations performed here
-    private Table sourceTable;
+    private final Table sourceTable;
+
+    // The number of threads used to aggregate
+    private int parallelism = 1;
 
     /**
      * Returns an instance for calculating a single summary for the given table, with no sub-groupings
@@ -64,16 +75,22 @@ public class TableSliceGroup implements Iterable<TableSlice> {
         this.splitColumnNames = groupColumnNames;
     }
 
-    String[] getSplitColumnNames() {
-        return splitColumnNames;
+    /**
+     * Makes aggregations over this group run on the given number of threads. The rows are split into ranges that are
+     * accumulated concurrently, and the partial results are merged; the results are the same as on a single thread.
+     * Only functions with an {@link AggregateFunction#accumulator() accumulator} are computed this way.
+     *
+     * @param parallelism The number of threads to use. A value of 1 (the default) aggregates on the calling thread
+     * @return This group
+     */
+    public TableSliceGroup parallel(int parallelism) {
+        Preconditions.checkArgument(parallelism > 0, "The parallelism level must be positive");
+        this.parallelism = parallelism;
+        return this;
     }
 
-    int getByteSize(List<Column<?>> columns) {
-        int byteSize = 0;
-        for (Column<?> c : columns) {
-            byteSize += c.byteSize();
-        }
-        return byteSize;
+    String[] getSplitColumnNames() {
+        return splitColumnNames;
     }
 
     void addSlice(TableSlice slice) {
@@ -100,32 +117,30 @@ public class TableSliceGroup implements Iterable<TableSlice> {
     }
 
     /**
-     * For a subtable that is grouped by the values in more than one column, split the grouping column into separate
-     * cols and return the revised view
+     * Returns the columns that identify my slices in the result of an aggregation. If I was formed by grouping on
+     * columns, these are copies of the grouping columns, holding the values in the first row of each slice; otherwise
+     * it is a single column named "Group" holding the name of each slice.
      */
-    private Table splitGroupingColumn(Table groupTable) {
-
-        if (splitColumnNames.length > 0) {
-            List<Column<?>> newColumns = new ArrayList<>();
-            List<Column<?>> columns = sourceTable.columns(splitColumnNames);
-            for (Column<?> column : columns) {
-                Column<?> newColumn = column.emptyCopy();
-                newColumns.add(newColumn);
-            }
-            // iterate through the rows in the table and split each of the grouping columns into multiple columns
-            for (int row = 0; row < groupTable.rowCount(); row++) {
-                List<String> strings = SPLITTER.splitToList(groupTable.stringColumn("Group").get(row));
-                for (int col = 0; col < newColumns.size(); col++) {
-                    newColumns.get(col).appendCell(strings.get(col));
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    List<Column<?>> groupColumns() {
+        List<Column<?>> groupColumns = new ArrayList<>();
+        RowGrouper grouper = grouper();
+        if (grouper != null && splitColumnNames.length > 0) {
+            for (Column column : sourceTable.columns(splitColumnNames)) {
+                Column groupColumn = column.emptyCopy();
+                for (int group = 0; group < grouper.groupCount(); group++) {
+                    groupColumn.append(column, grouper.firstRow(group));
                 }
+                groupColumns.add(groupColumn);
             }
-            for (int col = 0; col < newColumns.size(); col++) {
-                Column<?> c = newColumns.get(col);
-                groupTable.insertColumn(col, c);
+        } else {
+            StringColumn groupColumn = StringColumn.create("Group");
+            for (TableSlice slice : getSlices()) {
+                groupColumn.append(slice.name());
             }
-            groupTable.removeColumns("Group");
+            groupColumns.add(groupColumn);
         }
-        return groupTable;
+        return groupColumns;
     }
 
     /**
@@ -156,22 +171,29 @@ public class TableSliceGroup implements Iterable<TableSlice> {
     public Table aggregate(ListMultimap<String, AggregateFunction<?,?>> functions) {
         Preconditions.checkArgument(!getSlices().isEmpty());
         Table groupTable = summaryTableName(sourceTable);
-        StringColumn groupColumn = StringColumn.create("Group");
-        groupTable.addColumns(groupColumn);
+        groupTable.addColumns(groupColumns().toArray(new Column<?>[0]));
         for (Map.Entry<String, Collection<AggregateFunction<?,?>>> entry : functions.asMap().entrySet()) {
             String columnName = entry.getKey();
+            List<AggregateFunction<?, ?>> columnFunctions = new ArrayList<>(entry.getValue());
+            Object[][] accumulated = accumulate(sourceTable.column(columnName), columnFunctions);
+            Object[][] percentiles = percentiles(sourceTable.column(columnName), columnFunctions);
             int functionCount = 0;
-            for (AggregateFunction function : entry.getValue()) {
+            for (AggregateFunction function : columnFunctions) {
 
                 // set column name
                 String colName = !Strings.isNullOrEmpty(function.getAlias()) ? function.getAlias()
                         : aggregateColumnName(columnName, function.functionName());
                 Column resultColumn = function.returnType().create(colName);
 
-                for (TableSlice subTable : getSlices()) {
-                    Object result = function.summarize(subTable.column(columnName));
-                    if (functionCount == 0) {
-                        groupColumn.append(subTable.name());
+                for (int i = 0; i < getSlices().size(); i++) {
+                    TableSlice subTable = getSlices().get(i);
+                    Object result;
+                    if (accumulated[functionCount] != null) {
+                        result = accumulated[functionCount][i];
+                    } else if (percentiles[functionCount] != null) {
+                        result = percentiles[functionCount][i];
+                    } else {
+                        result = function.summarize(subTable.column(columnName));
                     }
                     /*if (result instanceof Number) {
                         Number number = (Number) result;
@@ -185,7 +207,428 @@ public class TableSliceGroup implements Iterable<TableSlice> {
                 functionCount++;
             }
         }
-        return splitGroupingColumn(groupTable);
+        return groupTable;
+    }
+
+    /**
+     * Applies the given aggregations to the groups of each of the given grouping sets, and returns the results for all
+     * the sets in one table, in the order of the sets. Each grouping set is a subset of the columns I was grouped on,
+     * and its groups combine those of my slices that have the same values in those columns. The result has a column
+     * for each of the columns I was grouped on; the values of columns not in a row's grouping set are missing.
+     *
+     * The source table is scanned only once, for my slices, which are the finest groups. Functions with an
+     * {@link AggregateFunction#accumulator() accumulator} are computed for the coarser groups by merging the states of
+     * the finest groups they contain; other functions are computed from the rows of each coarser group.
+     *
+     * @throws IllegalStateException    if my slices weren't formed by grouping on columns
+     * @throws IllegalArgumentException if a grouping set isn't a subset of the columns I was grouped on
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public Table aggregate(ListMultimap<String, AggregateFunction<?,?>> functions, List<List<String>> groupingSets) {
+        RowGrouper grouper = grouper();
+        Preconditions.checkState(grouper != null && splitColumnNames.length > 0,
+                "Grouping sets can only be aggregated over slices formed by grouping on columns");
+        List<String> splitColumns = Arrays.asList(splitColumnNames);
+        for (List<String> groupingSet : groupingSets) {
+            Preconditions.checkArgument(splitColumns.containsAll(groupingSet),
+                    "The grouping set %s is not a subset of the grouping columns %s", groupingSet, splitColumns);
+        }
+
+        // the states of the finest groups, for the functions of each column that have accumulators
+        List<String> columnNames = new ArrayList<>(functions.keySet());
+        List<List<AggregateFunction<?, ?>>> columnFunctions = new ArrayList<>();
+        List<Accumulator<?>[][]> columnStates = new ArrayList<>();
+        for (String columnName : columnNames) {
+            List<AggregateFunction<?, ?>> list = functions.get(columnName);
+            columnFunctions.add(list);
+            Column<?> column = sourceTable.column(columnName);
+            List<AggregateFunction<?, ?>> accumulated = new ArrayList<>();
+            for (AggregateFunction<?, ?> function : list) {
+                if (canAccumulate(column, function)) {
+                    accumulated.add(function);
+                }
+            }
+            columnStates.add(accumulated.isEmpty() ? null
+                    : accumulateStates(column, accumulated.toArray(new AggregateFunction<?, ?>[0])));
+        }
+
+        List<Column<?>> keys = groupColumns();
+        int[][] rowsByGroup = null;
+        Table result = null;
+        for (List<String> groupingSet : groupingSets) {
+            // number the coarser groups, in the order of their values, and map each finest group to one of them
+            Column<?>[] setKeys = keys.stream()
+                    .filter(key -> groupingSet.contains(key.name()))
+                    .toArray(Column<?>[]::new);
+            int[] coarseIds = new int[grouper.groupCount()];
+            int[] representatives;
+            if (setKeys.length == 0) {
+                representatives = grouper.groupCount() == 0 ? new int[0] : new int[] {0};
+            } else {
+                RowGrouper coarse = new RowGrouper(setKeys);
+                representatives = new int[coarse.groupCount()];
+                for (int group = 0; group < coarseIds.length; group++) {
+                    coarseIds[group] = coarse.groupId(group);
+                }
+                for (int coarseGroup = 0; coarseGroup < representatives.length; coarseGroup++) {
+                    representatives[coarseGroup] = coarse.firstRow(coarseGroup);
+                }
+            }
+            int coarseCount = representatives.length;
+
+            Table levelTable = summaryTableName(sourceTable);
+            for (Column key : keys) {
+                Column levelKey = key.emptyCopy();
+                for (int representative : representatives) {
+                    if (groupingSet.contains(key.name())) {
+                        levelKey.append(key, representative);
+                    } else {
+                        levelKey.appendMissing();
+                    }
+                }
+                levelTable.addColumns(levelKey);
+            }
+
+            Selection[] coarseRows = null;
+            for (int c = 0; c < columnNames.size(); c++) {
+                String columnName = columnNames.get(c);
+                Column<?> column = sourceTable.column(columnName);
+                Accumulator[][] states = columnStates.get(c);
+                int stateIndex = 0;
+                for (AggregateFunction function : columnFunctions.get(c)) {
+                    String colName = !Strings.isNullOrEmpty(function.getAlias()) ? function.getAlias()
+                            : aggregateColumnName(columnName, function.functionName());
+                    Column resultColumn = function.returnType().create(colName);
+                    if (states != null && canAccumulate(column, function)) {
+                        Accumulator[] merged = new Accumulator[coarseCount];
+                        for (int group = 0; group < coarseIds.length; group++) {
+                            int coarseGroup = coarseIds[group];
+                            if (merged[coarseGroup] == null) {
+                                merged[coarseGroup] = function.accumulator();
+                            }
+                            merged[coarseGroup].merge(states[group][stateIndex]);
+                        }
+                        for (Accumulator state : merged) {
+                            resultColumn.append(state.finish());
+                        }
+                        stateIndex++;
+                    } else {
+                        if (coarseRows == null) {
+                            if (rowsByGroup == null) {
+                                rowsByGroup = grouper.rowsByGroup();
+                            }
+                            coarseRows = coarseRows(rowsByGroup, coarseIds, coarseCount);
+                        }
+                        for (Selection rows : coarseRows) {
+                            resultColumn.append(function.summarize(new TableSlice(sourceTable, rows).column(columnName)));
+                        }
+                    }
+                    levelTable.addColumns(resultColumn);
+                }
+            }
+            result = result == null ? levelTable : result.append(levelTable);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the rows of each coarser group, given the rows of each finest group and the coarser group it belongs to
+     */
+    private static Selection[] coarseRows(int[][] rowsByGroup, int[] coarseIds, int coarseCount) {
+        IntArrayList[] rows = new IntArrayList[coarseCount];
+        for (int coarseGroup = 0; coarseGroup < coarseCount; coarseGroup++) {
+            rows[coarseGroup] = new IntArrayList();
+        }
+        for (int group = 0; group < rowsByGroup.length; group++) {
+            rows[coarseIds[group]].addElements(rows[coarseIds[group]].size(), rowsByGroup[group]);
+        }
+        Selection[] coarseRows = new Selection[coarseCount];
+        for (int coarseGroup = 0; coarseGroup < coarseCount; coarseGroup++) {
+            coarseRows[coarseGroup] = new BitmapBackedSelection(rows[coarseGroup].toIntArray());
+        }
+        return coarseRows;
+    }
+
+    /**
+     * Returns the results of the given functions for each slice, computed in a single scan of the given column, or
+     * null in place of the results of a function that can't be computed that way. The scan is only made when my
+     * slices were formed by grouping the rows of the source table; otherwise all the results are null.
+     * Columns that aren't numeric or boolean are only accumulated by functions whose accumulators accept hashes.
+     *
+     * The column is accumulated in chunks of rows, each into its own partial states for the groups it contains, and
+     * the partial states are merged in chunk order. The chunks are the same however many threads are used, so the
+     * results are too.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Object[][] accumulate(Column<?> column, List<AggregateFunction<?, ?>> functions) {
+        Object[][] results = new Object[functions.size()][];
+        RowGrouper grouper = grouper();
+        if (grouper == null) {
+            return results;
+        }
+        IntArrayList accumulated = new IntArrayList();
+        for (int f = 0; f < functions.size(); f++) {
+            if (canAccumulate(column, functions.get(f))) {
+                accumulated.add(f);
+            }
+        }
+        if (accumulated.isEmpty()) {
+            return results;
+        }
+        AggregateFunction<?, ?>[] accumulatedFunctions = new AggregateFunction<?, ?>[accumulated.size()];
+        for (int i = 0; i < accumulatedFunctions.length; i++) {
+            accumulatedFunctions[i] = functions.get(accumulated.getInt(i));
+        }
+        Accumulator[][] states = accumulateStates(column, accumulatedFunctions);
+        for (int i = 0; i < accumulatedFunctions.length; i++) {
+            Object[] functionResults = new Object[grouper.groupCount()];
+            for (int group = 0; group < functionResults.length; group++) {
+                functionResults[group] = states[group][i].finish();
+            }
+            results[accumulated.getInt(i)] = functionResults;
+        }
+        return results;
+    }
+
+    /**
+     * Returns true if the given function has an accumulator that can be given the values of the given column: any
+     * accumulator for a numeric or boolean column, or one that accepts hashes for a column of another type
+     */
+    private static boolean canAccumulate(Column<?> column, AggregateFunction<?, ?> function) {
+        Accumulator<?> accumulator = function.accumulator();
+        return accumulator != null
+                && (column instanceof NumericColumn || column instanceof BooleanColumn || accumulator.acceptsHashes());
+    }
+
+    /**
+     * Returns the states of the given functions, which must all have accumulators, after accumulating the given
+     * column; indexed by group and then by function
+     */
+    private Accumulator<?>[][] accumulateStates(Column<?> column, AggregateFunction<?, ?>[] accumulatedFunctions) {
+        RowGrouper grouper = grouper();
+        Accumulator<?>[][] states = new Accumulator<?>[grouper.groupCount()][];
+        int chunkCount = RowGrouper.chunkCount(column.size());
+        if (parallelism == 1 || chunkCount < 2) {
+            for (int chunk = 0; chunk < chunkCount; chunk++) {
+                accumulateChunk(column, grouper, accumulatedFunctions, chunk).mergeInto(states);
+            }
+        } else {
+            ChunkStates[] chunkStates = new ChunkStates[chunkCount];
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                RowGrouper.invokeAll(pool, chunkCount,
+                        chunk -> chunkStates[chunk] = accumulateChunk(column, grouper, accumulatedFunctions, chunk));
+            } finally {
+                pool.shutdown();
+            }
+            for (ChunkStates chunk : chunkStates) {
+                chunk.mergeInto(states);
+            }
+        }
+        return states;
+    }
+
+    /**
+     * Returns the results of the percentile functions among the given functions for each slice, or null in place of
+     * the results of other functions. The non-missing values of each slice are copied once, and all the percentiles
+     * of a slice are computed together from its copy.
+     *
+     * When my slices were formed by grouping the rows of the source table, the values are copied in a single scan of
+     * the column, into one range of a shared array per group, and the groups are then processed concurrently.
+     */
+    private Object[][] percentiles(Column<?> column, List<AggregateFunction<?, ?>> functions) {
+        Object[][] results = new Object[functions.size()][];
+        if (!(column instanceof NumericColumn)) {
+            return results;
+        }
+        IntArrayList percentileFunctions = new IntArrayList();
+        for (int f = 0; f < functions.size(); f++) {
+            if (functions.get(f) instanceof PercentileFunction) {
+                percentileFunctions.add(f);
+            }
+        }
+        if (percentileFunctions.isEmpty()) {
+            return results;
+        }
+        double[] percentiles = new double[percentileFunctions.size()];
+        for (int i = 0; i < percentiles.length; i++) {
+            percentiles[i] = ((PercentileFunction) functions.get(percentileFunctions.getInt(i))).percentile();
+        }
+
+        NumericColumn<?> numbers = (NumericColumn<?>) column;
+        int sliceCount = getSlices().size();
+        double[][] sliceResults = new double[sliceCount][];
+        RowGrouper grouper = grouper();
+        if (grouper == null) {
+            for (int i = 0; i < sliceCount; i++) {
+                NumericColumn<?> sliceColumn = (NumericColumn<?>) getSlices().get(i).column(column.name());
+                sliceResults[i] = OrderStatistics.percentiles(sliceColumn, percentiles);
+            }
+        } else {
+            // the values of group g go from offsets[g] to offsets[g + 1]
+            int[] offsets = new int[sliceCount + 1];
+            for (int row = 0; row < numbers.size(); row++) {
+                if (!numbers.isMissing(row)) {
+                    offsets[grouper.groupId(row) + 1]++;
+                }
+            }
+            for (int group = 0; group < sliceCount; group++) {
+                offsets[group + 1] += offsets[group];
+            }
+            double[] values = new double[offsets[sliceCount]];
+            int[] next = Arrays.copyOf(offsets, sliceCount);
+            for (int row = 0; row < numbers.size(); row++) {
+                if (!numbers.isMissing(row)) {
+                    values[next[grouper.groupId(row)]++] = numbers.getDouble(row);
+                }
+            }
+            if (parallelism == 1 || sliceCount < 2) {
+                for (int group = 0; group < sliceCount; group++) {
+                    sliceResults[group] = OrderStatistics.percentiles(
+                            values, offsets[group], offsets[group + 1], percentiles);
+                }
+            } else {
+                // each task takes every taskCount-th group, which spreads large groups over the tasks
+                int taskCount = Math.min(sliceCount, 4 * parallelism);
+                ForkJoinPool pool = new ForkJoinPool(parallelism);
+                try {
+                    RowGrouper.invokeAll(pool, taskCount, task -> {
+                        for (int group = task; group < sliceCount; group += taskCount) {
+                            sliceResults[group] = OrderStatistics.percentiles(
+                                    values, offsets[group], offsets[group + 1], percentiles);
+                        }
+                    });
+                } finally {
+                    pool.shutdown();
+                }
+            }
+        }
+
+        for (int i = 0; i < percentiles.length; i++) {
+            Object[] functionResults = new Object[sliceCount];
+            for (int slice = 0; slice < sliceCount; slice++) {
+                functionResults[slice] = sliceResults[slice][i];
+            }
+            results[percentileFunctions.getInt(i)] = functionResults;
+        }
+        return results;
+    }
+
+    /**
+     * Accumulates the values in the given chunk of rows of the given column, for each group that appears in it
+     */
+    private static ChunkStates accumulateChunk(Column<?> column, RowGrouper grouper,
+                                               AggregateFunction<?, ?>[] functions, int chunk) {
+        int start = chunk * RowGrouper.CHUNK_SIZE;
+        int end = Math.min(column.size(), start + RowGrouper.CHUNK_SIZE);
+        ChunkStates chunkStates = new ChunkStates(grouper.groupCount(), functions);
+        for (int row = start; row < end; row++) {
+            Accumulator<?>[] states = chunkStates.states(grouper.groupId(row));
+            if (column.isMissing(row)) {
+                for (Accumulator<?> state : states) {
+                    state.acceptMissing();
+                }
+            } else if (column instanceof BooleanColumn) {
+                int value = ((BooleanColumn) column).getByte(row);
+                for (Accumulator<?> state : states) {
+                    state.accept(value);
+                }
+            } else if (column instanceof LongColumn) {
+                long value = ((LongColumn) column).getLong(row);
+                for (Accumulator<?> state : states) {
+                    state.accept(value);
+                }
+            } else if (column instanceof NumericColumn) {
+                double value = ((NumericColumn<?>) column).getDouble(row);
+                for (Accumulator<?> state : states) {
+                    state.accept(value);
+                }
+            } else {
+                long hash = HyperLogLog.hash(column, row);
+                for (Accumulator<?> state : states) {
+                    state.acceptHash(hash);
+                }
+            }
+        }
+        return chunkStates;
+    }
+
+    /**
+     * The partial states of some functions, for the groups that appear in a chunk of rows
+     */
+    private static final class ChunkStates {
+
+        private static final int NO_SLOT = -1;
+
+        private final AggregateFunction<?, ?>[] functions;
+
+        // maps group ids to slots in groups and states: densely if there are few groups, otherwise in a hash table
+        private final int[] denseSlots;
+        private final Int2IntOpenHashMap sparseSlots;
+
+        private final IntArrayList groups = new IntArrayList();
+        private final List<Accumulator<?>[]> states = new ArrayList<>();
+
+        ChunkStates(int groupCount, AggregateFunction<?, ?>[] functions) {
+            this.functions = functions;
+            if (groupCount <= RowGrouper.CHUNK_SIZE) {
+                denseSlots = new int[groupCount];
+                Arrays.fill(denseSlots, NO_SLOT);
+                sparseSlots = null;
+            } else {
+                denseSlots = null;
+                sparseSlots = new Int2IntOpenHashMap();
+                sparseSlots.defaultReturnValue(NO_SLOT);
+            }
+        }
+
+        /**
+         * Returns the states of the functions for the given group, creating them if the group hasn't been seen before
+         */
+        Accumulator<?>[] states(int group) {
+            int slot = denseSlots != null ? denseSlots[group] : sparseSlots.get(group);
+            if (slot == NO_SLOT) {
+                slot = groups.size();
+                groups.add(group);
+                Accumulator<?>[] groupStates = new Accumulator<?>[functions.length];
+                for (int f = 0; f < functions.length; f++) {
+                    groupStates[f] = functions[f].accumulator();
+                }
+                states.add(groupStates);
+                if (denseSlots != null) {
+                    denseSlots[group] = slot;
+                } else {
+                    sparseSlots.put(group, slot);
+                }
+            }
+            return states.get(slot);
+        }
+
+        /**
+         * Merges these states into the given states, indexed by group, taking them over for groups that have none yet
+         */
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        void mergeInto(Accumulator[][] totals) {
+            for (int slot = 0; slot < groups.size(); slot++) {
+                int group = groups.getInt(slot);
+                Accumulator[] chunkStates = states.get(slot);
+                if (totals[group] == null) {
+                    totals[group] = chunkStates;
+                } else {
+                    for (int f = 0; f < chunkStates.length; f++) {
+                        totals[group][f].merge(chunkStates[f]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the grouper that assigned the rows of the source table to my slices, so that the slice at each index
+     * holds the rows of the group with that id; or null if my slices were not formed that way
+     */
+    RowGrouper grouper() {
+        return null;
     }
 
     public static Table summaryTableName(Table source) {
@@ -219,8 +662,4 @@ public class TableSliceGroup implements Iterable<TableSlice> {
         }
         return tableList;
     }
-
-    void setSourceTable(Table sourceTable) {
-        this.sourceTable = sourceTable;
-    }
 }
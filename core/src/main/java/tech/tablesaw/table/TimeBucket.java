@@ -0,0 +1,170 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.tablesaw.table;
+
+import com.google.common.base.Preconditions;
+import tech.tablesaw.api.DateColumn;
+import tech.tablesaw.api.DateTimeColumn;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.columns.Column;
+import tech.tablesaw.columns.dates.PackedLocalDate;
+import tech.tablesaw.columns.datetimes.PackedLocalDateTime;
+import tech.tablesaw.columns.times.PackedLocalTime;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+
+/**
+ * A division of the values of a date or date-time column into consecutive intervals of equal length, for grouping the
+ * rows of a table by interval: every minute, hour, day, week, month, or any other length.
+ *
+ * The interval of each row is computed arithmetically from the packed value in the column, without formatting the
+ * value or creating an intermediate column. Intervals given as a {@link Duration} start at multiples of the duration
+ * since 1970-01-01T00:00; intervals of weeks given as a {@link Period} start on Mondays; and intervals of months or
+ * years start on the first day of a month, at multiples of the period since January 1970.
+ *
+ * For example, to summarize a table by hour:
+ *
+ * table.summarize(mean("latency")).by(TimeBucket.of("time", Duration.ofHours(1)))
+ */
+public final class TimeBucket {
+
+    private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+
+    // 1970-01-05, the first Monday after the epoch
+    private static final long FIRST_MONDAY = 4 * MILLIS_PER_DAY;
+
+    private final String columnName;
+
+    // the length of an interval, in milliseconds if months is false
+    private final long length;
+    private final boolean months;
+
+    // the start of the interval numbered 0, in milliseconds since the epoch
+    private final long origin;
+
+    private TimeBucket(String columnName, long length, boolean months, long origin) {
+        this.columnName = columnName;
+        this.length = length;
+        this.months = months;
+        this.origin = origin;
+    }
+
+    /**
+     * Returns the intervals of the given length of the values in the named column. The length must be a positive whole
+     * number of milliseconds, and a whole number of days if the column is a date column.
+     */
+    public static TimeBucket of(String columnName, Duration length) {
+        Preconditions.checkArgument(!length.isNegative() && !length.isZero(), "The length must be positive");
+        Preconditions.checkArgument(length.toNanos() % 1_000_000 == 0,
+                "The length must be a whole number of milliseconds, but was %s", length);
+        return new TimeBucket(columnName, length.toMillis(), false, 0);
+    }
+
+    /**
+     * Returns the intervals of the given length of the values in the named column. The period must be a positive
+     * number of days, which are grouped in weeks starting on Mondays if there are a whole number of weeks, or a
+     * positive number of months and years, but not both.
+     */
+    public static TimeBucket of(String columnName, Period length) {
+        Preconditions.checkArgument(!length.isNegative() && !length.isZero(), "The length must be positive");
+        if (length.getDays() == 0) {
+            return new TimeBucket(columnName, length.toTotalMonths(), true, 0);
+        }
+        Preconditions.checkArgument(length.toTotalMonths() == 0,
+                "The length must be in days or in months, but not both: %s", length);
+        boolean weeks = length.getDays() % 7 == 0;
+        return new TimeBucket(columnName, length.getDays() * MILLIS_PER_DAY, false, weeks ? FIRST_MONDAY : 0);
+    }
+
+    public String columnName() {
+        return columnName;
+    }
+
+    /**
+     * Returns the number of the interval holding each row of the named column of the given table. The intervals are
+     * numbered consecutively in time, and rows with missing values get a number below all the others.
+     *
+     * @throws IllegalArgumentException if the column isn't a date or date-time column, or the length of a date
+     *                                  column's intervals isn't a whole number of days
+     */
+    long[] intervals(Table table) {
+        Column<?> column = table.column(columnName);
+        Preconditions.checkArgument(column instanceof DateColumn || column instanceof DateTimeColumn,
+                "Column %s must be a date or date-time column to be grouped in time intervals", columnName);
+        Preconditions.checkArgument(months || column instanceof DateTimeColumn || length % MILLIS_PER_DAY == 0,
+                "The intervals of date column %s must be a whole number of days", columnName);
+        long[] intervals = new long[column.size()];
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < intervals.length; row++) {
+            if (!column.isMissing(row)) {
+                intervals[row] = interval(column, row);
+                min = Math.min(min, intervals[row]);
+            }
+        }
+        for (int row = 0; row < intervals.length; row++) {
+            if (column.isMissing(row)) {
+                intervals[row] = min - 1;
+            }
+        }
+        return intervals;
+    }
+
+    private long interval(Column<?> column, int row) {
+        int date;
+        int time = 0;
+        if (column instanceof DateColumn) {
+            date = ((DateColumn) column).getIntInternal(row);
+        } else {
+            long dateTime = ((DateTimeColumn) column).getLongInternal(row);
+            date = PackedLocalDateTime.date(dateTime);
+            time = PackedLocalDateTime.time(dateTime);
+        }
+        if (months) {
+            long month = PackedLocalDate.getYear(date) * 12L + PackedLocalDate.getMonthValue(date) - 1 - 1970 * 12L;
+            return Math.floorDiv(month, length);
+        }
+        long millis = PackedLocalDate.toEpochDay(date) * MILLIS_PER_DAY;
+        if (column instanceof DateTimeColumn) {
+            millis += PackedLocalTime.getHour(time) * 3_600_000L
+                    + PackedLocalTime.getMinute(time) * 60_000L
+                    + PackedLocalTime.getMillisecondOfMinute(time);
+        }
+        return Math.floorDiv(millis - origin, length);
+    }
+
+    /**
+     * Returns the start of the given interval: a LocalDate for a date column, or a LocalDateTime for a date-time column
+     */
+    Object start(Column<?> column, long interval) {
+        LocalDateTime start;
+        if (months) {
+            long month = interval * length + 1970 * 12L;
+            start = LocalDate.of((int) Math.floorDiv(month, 12), (int) Math.floorMod(month, 12) + 1, 1).atStartOfDay();
+        } else {
+            long millis = interval * length + origin;
+            start = LocalDate.ofEpochDay(Math.floorDiv(millis, MILLIS_PER_DAY)).atStartOfDay()
+                    .plus(Duration.ofMillis(Math.floorMod(millis, MILLIS_PER_DAY)));
+        }
+        return column instanceof DateColumn ? start.toLocalDate() : start;
+    }
+
+    @Override
+    public String toString() {
+        return columnName + " by " + (months ? Period.ofMonths((int) length) : Duration.ofMillis(length));
+    }
+}
@@ -15,18 +15,26 @@
 package tech.tablesaw.aggregate;
 
 import org.apache.commons.math3.stat.StatUtils;
+import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
 import org.junit.Before;
 import org.junit.Test;
 import tech.tablesaw.api.BooleanColumn;
 import tech.tablesaw.api.DateColumn;
 import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.IntColumn;
+import tech.tablesaw.api.NumericColumn;
 import tech.tablesaw.api.StringColumn;
 import tech.tablesaw.api.Table;
+import tech.tablesaw.columns.Column;
+import tech.tablesaw.columns.numbers.Stats;
 import tech.tablesaw.io.csv.CsvReadOptions;
 import tech.tablesaw.table.SelectionTableSliceGroup;
 import tech.tablesaw.table.StandardTableSliceGroup;
 import tech.tablesaw.table.TableSliceGroup;
 
+import java.util.Arrays;
+import java.util.Random;
+
 import static org.junit.Assert.*;
 import static tech.tablesaw.aggregate.AggregateFunctions.*;
 
@@ -197,4 +205,206 @@ public class AggregateFunctionsTest {
 
         assertEquals(10, countUnique("test").summarize(c), 0.0001);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void accumulatorsMatchSummarize() {
+        DoubleColumn approval = table.numberColumn("approval").asDoubleColumn();
+        for (int row = 0; row < approval.size(); row += 7) {
+            approval.setMissing(row);
+        }
+        BooleanColumn high = BooleanColumn.create("high");
+        for (int row = 0; row < approval.size(); row++) {
+            if (row % 11 == 0) {
+                high.appendMissing();
+            } else {
+                high.append(table.numberColumn("approval").getDouble(row) > 60);
+            }
+        }
+        Table data = Table.create("data", table.stringColumn("who"), approval.setName("value"), high);
+        TableSliceGroup group = StandardTableSliceGroup.create(data, "who");
+
+        AggregateFunction<?, ?>[] numeric = {mean("value"), sum("value"), min("value"), max("value"),
+                range("value"), product("value"), geometricMean("value"), populationVariance("value"),
+                quadraticMean("value"), sumOfSquares("value"), sumOfLogs("value"), variance("value"),
+                stdDev("value"), countNonMissing("value"), countMissing("value"), countWithMissing("value"),
+                kurtosis("value"), skewness("value"), median("value")};
+        AggregateFunction<?, ?>[] booleans = {countTrue("high"), countFalse("high"), allTrue("high"),
+                anyTrue("high"), noneTrue("high"), proportionTrue("high"), proportionFalse("high")};
+        assertNull(median("value").accumulator());
+        assertResultsMatchSummarize(group, group.aggregate(numeric), numeric);
+        assertResultsMatchSummarize(group, group.aggregate(booleans), booleans);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static void assertResultsMatchSummarize(TableSliceGroup group, Table result,
+                                                    AggregateFunction<?, ?>... functions) {
+        for (int f = 0; f < functions.length; f++) {
+            AggregateFunction function = functions[f];
+            for (int i = 0; i < group.size(); i++) {
+                Object expected = function.summarize(group.get(i).column(function.aggColumn()));
+                Object actual = result.column(f + 1).get(i);
+                if (expected instanceof Double) {
+                    assertEquals(function.functionName(), (Double) expected, (Double) actual, tolerance((Double) expected));
+                } else {
+                    assertEquals(function.functionName(), expected, actual);
+                }
+
+                // accumulating the two halves of the slice separately and merging gives the same result
+                Column<?> column = group.get(i).column(function.aggColumn());
+                Accumulator first = function.accumulator();
+                Accumulator second = function.accumulator();
+                if (first != null) {
+                    for (int row = 0; row < column.size(); row++) {
+                        Accumulator accumulator = row < column.size() / 2 ? first : second;
+                        if (column.isMissing(row)) {
+                            accumulator.acceptMissing();
+                        } else if (column instanceof BooleanColumn) {
+                            accumulator.accept((int) ((BooleanColumn) column).getByte(row));
+                        } else {
+                            accumulator.accept(((NumericColumn<?>) column).getDouble(row));
+                        }
+                    }
+                    first.merge(second);
+                    if (expected instanceof Double) {
+                        assertEquals(function.functionName(), (Double) expected, (Double) first.finish(), tolerance((Double) expected));
+                    } else {
+                        assertEquals(function.functionName(), expected, first.finish());
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void fusedMomentsMatchSummarize() {
+        DoubleColumn approval = table.numberColumn("approval").asDoubleColumn();
+        approval.setMissing(3);
+        Table data = Table.create("data", approval);
+
+        AggregateFunction<?, ?>[] functions = {mean("approval"), variance("approval"), stdDev("approval"),
+                sum("approval"), min("approval"), max("approval"), kurtosis("approval"), skewness("approval")};
+        Table summary = data.summarize(functions).apply();
+        for (int f = 0; f < functions.length; f++) {
+            double expected = (Double) ((AggregateFunction) functions[f]).summarize(approval);
+            assertEquals(functions[f].functionName(), expected, summary.doubleColumn(f).get(0), tolerance(expected));
+        }
+
+        Stats stats = approval.stats();
+        SummaryStatistics expected = new SummaryStatistics();
+        for (double value : approval.removeMissing().asDoubleArray()) {
+            expected.addValue(value);
+        }
+        assertEquals(expected.getN(), stats.n());
+        assertEquals(expected.getMean(), stats.mean(), 0);
+        assertEquals(expected.getVariance(), stats.variance(), 0);
+        assertEquals(expected.getPopulationVariance(), stats.populationVariance(), 0);
+        assertEquals(expected.getStandardDeviation(), stats.standardDeviation(), 0);
+        assertEquals(expected.getSecondMoment(), stats.secondMoment(), 0);
+        assertEquals(expected.getSum(), stats.sum(), 0);
+        assertEquals(expected.getSumsq(), stats.sumOfSquares(), 0);
+        assertEquals(expected.getMin(), stats.min(), 0);
+        assertEquals(expected.getMax(), stats.max(), 0);
+        assertEquals(expected.getGeometricMean(), stats.geometricMean(), tolerance(expected.getGeometricMean()));
+        assertEquals(expected.getQuadraticMean(), stats.quadraticMean(), tolerance(expected.getQuadraticMean()));
+    }
+
+    @Test
+    public void rollupMatchesGroupingEachLevel() {
+        StringColumn region = StringColumn.create("region");
+        StringColumn product = StringColumn.create("product");
+        IntColumn year = IntColumn.create("year");
+        DoubleColumn amount = DoubleColumn.create("amount");
+        Random random = new Random(0);
+        for (int i = 0; i < 5000; i++) {
+            region.append("r" + random.nextInt(4));
+            product.append("p" + random.nextInt(5));
+            year.append(2015 + random.nextInt(3));
+            amount.append(random.nextInt(1000));
+        }
+        Table sales = Table.create("sales", region, product, year, amount);
+        AggregateFunction<?, ?>[] functions = {sum("amount"), mean("amount"), median("amount"), countUnique("product")};
+
+        Table rollup = sales.summarize(functions).rollup("region", "year", "product");
+        assertEquals(4 * 3 * 5 + 4 * 3 + 4 + 1, rollup.rowCount());
+        assertEquals(Arrays.asList("region", "year", "product"), rollup.columnNames().subList(0, 3));
+
+        Table expected = sales.summarize(functions).by("region", "year", "product");
+        Table byRegionYear = sales.summarize(functions).by("region", "year");
+        byRegionYear.insertColumn(2, StringColumn.create("product", byRegionYear.rowCount()));
+        Table byRegion = sales.summarize(functions).by("region");
+        byRegion.insertColumn(1, IntColumn.create("year", byRegion.rowCount()));
+        byRegion.insertColumn(2, StringColumn.create("product", byRegion.rowCount()));
+        Table total = sales.summarize(functions).apply();
+        total.insertColumn(0, StringColumn.create("region", 1));
+        total.insertColumn(1, IntColumn.create("year", 1));
+        total.insertColumn(2, StringColumn.create("product", 1));
+        for (Table level : Arrays.asList(byRegionYear, byRegion, total)) {
+            expected.append(level);
+        }
+        for (int col = 0; col < expected.columnCount(); col++) {
+            assertEquals(expected.column(col).name(), rollup.column(col).name());
+            for (int row = 0; row < expected.rowCount(); row++) {
+                if (expected.column(col) instanceof DoubleColumn) {
+                    assertEquals(expected.doubleColumn(col).get(row), rollup.doubleColumn(col).get(row), 1e-9);
+                } else {
+                    assertEquals(expected.getUnformatted(row, col), rollup.getUnformatted(row, col));
+                }
+            }
+        }
+
+        Table cube = sales.summarize(sum("amount")).cube("region", "product");
+        assertEquals(4 * 5 + 4 + 5 + 1, cube.rowCount());
+        assertEquals(sales.doubleColumn("amount").sum(), cube.doubleColumn(2).get(cube.rowCount() - 1), 1e-9);
+        Table sets = sales.summarize(sum("amount")).groupingSets(Arrays.asList(
+                Arrays.asList("product"), Arrays.asList("year")));
+        assertEquals(5 + 3, sets.rowCount());
+        assertEquals(Arrays.asList("product", "year", "Sum [amount]"), sets.columnNames());
+    }
+
+    private static double tolerance(double expected) {
+        return 1e-12 * Math.max(1, Math.abs(expected));
+    }
+
+    @Test
+    public void orderStatisticsMatchStatUtils() {
+        Random random = new Random(0);
+        double[] percentiles = {0.5, 25, 50, 75, 90, 99, 100};
+        for (int n = 0; n < 200; n++) {
+            double[] values = new double[n];
+            for (int i = 0; i < n; i++) {
+                values[i] = random.nextInt(n / 2 + 1) + (n % 3 == 0 ? random.nextDouble() : 0);
+            }
+            for (double percentile : percentiles) {
+                double[] single = OrderStatistics.percentiles(values.clone(), 0, n, percentile);
+                assertEquals(StatUtils.percentile(values, percentile), single[0], 0);
+            }
+            double[] shared = OrderStatistics.percentiles(values.clone(), 0, n, percentiles);
+            for (int i = 0; i < percentiles.length; i++) {
+                assertEquals(StatUtils.percentile(values, percentiles[i]), shared[i], 0);
+            }
+        }
+
+        Table summary = table.summarize(median("approval"), quartile1("approval"), quartile3("approval"),
+                percentile90("approval")).by("who");
+        Table single = table.summarize(quartile3("approval")).by("who");
+        Table parallel = table.summarize(median("approval"), quartile1("approval"), quartile3("approval"),
+                percentile90("approval")).parallel(3).by("who");
+        for (int row = 0; row < summary.rowCount(); row++) {
+            double[] values = table.where(table.stringColumn("who").isEqualTo(summary.getString(row, 0)))
+                    .nCol("approval").asDoubleArray();
+            assertEquals(StatUtils.percentile(values, 50), summary.doubleColumn(1).get(row), 0);
+            assertEquals(StatUtils.percentile(values, 25), summary.doubleColumn(2).get(row), 0);
+            assertEquals(StatUtils.percentile(values, 75), summary.doubleColumn(3).get(row), 0);
+            assertEquals(StatUtils.percentile(values, 90), summary.doubleColumn(4).get(row), 0);
+            assertEquals(summary.doubleColumn(3).get(row), single.doubleColumn(1).get(row), 0);
+        }
+        for (int col = 0; col < summary.columnCount(); col++) {
+            assertEquals(summary.column(col).asList(), parallel.column(col).asList());
+        }
+
+        Table all = table.summarize(median("approval"), percentile90("approval")).apply();
+        double[] values = table.nCol("approval").asDoubleArray();
+        assertEquals(StatUtils.percentile(values, 50), all.doubleColumn(0).get(0), 0);
+        assertEquals(StatUtils.percentile(values, 90), all.doubleColumn(1).get(0), 0);
+    }
+}
@@ -0,0 +1,145 @@
+package tech.tablesaw.aggregate;
+
+import org.junit.Test;
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.IntColumn;
+import tech.tablesaw.api.LongColumn;
+import tech.tablesaw.api.StringColumn;
+import tech.tablesaw.api.Table;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static tech.tablesaw.aggregate.AggregateFunctions.countNonMissing;
+import static tech.tablesaw.aggregate.AggregateFunctions.countUnique;
+import static tech.tablesaw.aggregate.AggregateFunctions.countUniqueApprox;
+
+public class HyperLogLogTest {
+
+    @Test
+    public void exactForFewValues() {
+        StringColumn strings = StringColumn.create("s");
+        for (int i = 0; i < 1000; i++) {
+            strings.append("value " + (i % 300));
+        }
+        strings.appendMissing();
+        assertEquals(300, strings.countUniqueApprox());
+    }
+
+    @Test
+    public void estimateAndMerge() {
+        IntColumn first = IntColumn.create("first");
+        IntColumn second = IntColumn.create("second");
+        for (int i = 0; i < 200_000; i++) {
+            first.append(i);
+            second.append(i + 100_000);
+        }
+        HyperLogLog sketch = HyperLogLog.of(first);
+        assertEquals(200_000, sketch.estimate(), 200_000 * 0.05);
+
+        sketch.merge(HyperLogLog.of(second));
+        assertEquals(300_000, sketch.estimate(), 300_000 * 0.05);
+
+        // merging sketches is the same as sketching all the values
+        HyperLogLog all = new HyperLogLog();
+        for (int i = 0; i < 300_000; i++) {
+            all.add(i);
+        }
+        assertEquals(all.estimate(), sketch.estimate());
+    }
+
+    @Test
+    public void largeLongIds() {
+        IntColumn groups = IntColumn.create("group");
+        LongColumn ids = LongColumn.create("id");
+        for (int i = 0; i < 1200; i++) {
+            groups.append(i % 3);
+            // longs above 2^53 that round to the same few doubles
+            ids.append((1L << 60) + i % 400);
+        }
+        assertEquals(400, ids.countUniqueApprox());
+
+        LongColumn manyIds = LongColumn.create("id");
+        for (int i = 0; i < 100_000; i++) {
+            manyIds.append((1L << 60) + i);
+        }
+        assertEquals(100_000, manyIds.countUniqueApprox(), 100_000 * 0.05);
+
+        Table table = Table.create("t", groups, ids);
+        Table exact = table.summarize(countUnique("id")).by("group");
+        Table approx = table.summarize(countUniqueApprox("id")).by("group");
+        assertEquals(exact.column(1).asList(), approx.column(1).asList());
+        Table all = table.summarize(countUniqueApprox("id"), countNonMissing("id")).apply();
+        assertEquals(400, all.intColumn(0).getInt(0));
+    }
+
+    @Test
+    public void countUniqueApproxOfStringsByGroup() {
+        StringColumn region = StringColumn.create("region");
+        StringColumn store = StringColumn.create("store");
+        StringColumn user = StringColumn.create("user");
+        // enough rows to span several chunks, so the sketches of each group are merged across chunks and threads
+        for (int i = 0; i < 200_000; i++) {
+            region.append("region " + i % 3);
+            store.append("store " + i % 5);
+            user.append("user " + i % 450);
+        }
+        Table table = Table.create("t", region, store, user);
+        Table exact = table.summarize(countUnique("user"), countNonMissing("user")).by("region", "store");
+        Table approx = table.summarize(countUniqueApprox("user"), countNonMissing("user"))
+                .parallel(4)
+                .by("region", "store");
+        assertEquals(exact.column(2).asList(), approx.column(2).asList());
+        assertEquals(exact.column(3).asList(), approx.column(3).asList());
+
+        // merging the sketches of the finest groups gives the counts of the coarser ones
+        Table rollup = table.summarize(countUniqueApprox("user")).rollup("region", "store");
+        assertEquals(15 + 3 + 1, rollup.rowCount());
+        for (int row = 0; row < rollup.rowCount(); row++) {
+            int expected = rollup.stringColumn("region").isMissing(row) ? 450
+                    : rollup.stringColumn("store").isMissing(row) ? 150
+                    : 30;
+            assertEquals(expected, (int) rollup.intColumn(2).get(row));
+        }
+        assertEquals(450, table.summarize(countUniqueApprox("user"), countNonMissing("user")).apply()
+                .intColumn(0).getInt(0));
+    }
+
+    @Test
+    public void serializable() throws Exception {
+        HyperLogLog sketch = HyperLogLog.of(DoubleColumn.create("d", new double[] {1.5, 2.5, 1.5, -0.0, 0.0}));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(sketch);
+        }
+        HyperLogLog read;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            read = (HyperLogLog) in.readObject();
+        }
+        assertEquals(3, read.estimate());
+        read.add(4.5);
+        assertEquals(4, read.estimate());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void mergeRejectsOtherPrecisions() {
+        new HyperLogLog(10).merge(new HyperLogLog(12));
+    }
+
+    @Test
+    public void countUniqueApproxByGroup() {
+        IntColumn groups = IntColumn.create("group");
+        IntColumn values = IntColumn.create("value");
+        for (int i = 0; i < 10_000; i++) {
+            groups.append(i % 7);
+            values.append(i % 97);
+        }
+        Table table = Table.create("t", groups, values);
+        Table exact = table.summarize(countUnique("value")).by("group");
+        Table approx = table.summarize(countUniqueApprox("value")).by("group");
+        assertEquals(exact.column(1).asList(), approx.column(1).asList());
+    }
+}
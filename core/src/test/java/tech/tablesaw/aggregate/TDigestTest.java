@@ -0,0 +1,113 @@
+package tech.tablesaw.aggregate;
+
+import org.junit.Test;
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.IntColumn;
+import tech.tablesaw.api.Table;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static tech.tablesaw.aggregate.AggregateFunctions.median;
+import static tech.tablesaw.aggregate.AggregateFunctions.medianApprox;
+import static tech.tablesaw.aggregate.AggregateFunctions.percentileApprox;
+
+public class TDigestTest {
+
+    @Test
+    public void quantilesOfManyValues() {
+        Random random = new Random(0);
+        double[] values = new double[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextDouble();
+        }
+        TDigest digest = TDigest.of(DoubleColumn.create("x", values));
+        assertEquals(100_000, digest.size());
+        assertEquals(0.5, digest.quantile(0.5), 0.01);
+        assertEquals(0.99, digest.quantile(0.99), 0.002);
+        assertEquals(0.999, digest.quantile(0.999), 0.0005);
+
+        // merging the digests of parts gives the same quantiles as the digest of all the values
+        TDigest first = TDigest.of(DoubleColumn.create("x", Arrays.copyOfRange(values, 0, 30_000)));
+        TDigest second = TDigest.of(DoubleColumn.create("x", Arrays.copyOfRange(values, 30_000, 100_000)));
+        first.merge(second);
+        assertEquals(100_000, first.size());
+        assertEquals(digest.quantile(0.5), first.quantile(0.5), 0.01);
+        assertEquals(digest.quantile(0.99), first.quantile(0.99), 0.002);
+        assertEquals(digest.quantile(0), first.quantile(0), 0);
+        assertEquals(digest.quantile(1), first.quantile(1), 0);
+    }
+
+    @Test
+    public void exactForFewValues() {
+        DoubleColumn column = DoubleColumn.create("x", new double[] {5, 1, 4, 2, 3});
+        column.appendMissing();
+        TDigest digest = TDigest.of(column);
+        assertEquals(3, digest.quantile(0.5), 0);
+        assertEquals(1, digest.quantile(0), 0);
+        assertEquals(5, digest.quantile(1), 0);
+        assertEquals(Double.NaN, new TDigest().quantile(0.5), 0);
+
+        // a rolling median over small windows matches the exact median
+        DoubleColumn values = DoubleColumn.create("x", new double[] {3, 8, 1, 9, 4, 4, 7, 2});
+        assertEquals(values.rolling(4).calc(median("x")).asList(),
+                values.rolling(4).calc(medianApprox("x")).asList());
+    }
+
+    @Test
+    public void percentileApproxByGroup() {
+        IntColumn groups = IntColumn.create("group");
+        IntColumn latencies = IntColumn.create("latency");
+        Random random = new Random(1);
+        for (int i = 0; i < 50_000; i++) {
+            groups.append(i % 5);
+            latencies.append(random.nextInt(1000) * (1 + i % 5));
+        }
+        Table table = Table.create("t", groups, latencies);
+        Table approx = table.summarize(percentileApprox("latency", 99)).by("group");
+        assertEquals("Approx. Percentile 99 [latency]", approx.column(1).name());
+        for (int group = 0; group < 5; group++) {
+            double exact = latencies.where(groups.isEqualTo(group)).percentile(99);
+            assertEquals(exact, approx.doubleColumn(1).get(group), 1000 * (1 + group) * 0.003);
+        }
+    }
+
+    @Test
+    public void manySmallGroups() {
+        IntColumn groups = IntColumn.create("group");
+        IntColumn values = IntColumn.create("value");
+        for (int i = 0; i < 200_000; i++) {
+            groups.append(i / 2);
+            values.append(i % 7);
+        }
+        Table table = Table.create("t", groups, values);
+        Table approx = table.summarize(medianApprox("value")).by("group");
+        Table exact = table.summarize(median("value")).by("group");
+        assertEquals(100_000, approx.rowCount());
+        assertEquals(exact.column(1).asList(), approx.column(1).asList());
+
+        // digests of a few values don't allocate the full buffer, so the memory of many small groups is bounded
+        TDigest small = new TDigest();
+        assertEquals(0, small.bufferCapacity());
+        small.add(1);
+        small.add(2);
+        assertEquals(8, small.bufferCapacity());
+        assertEquals(1.5, small.quantile(0.5), 0);
+
+        // the buffer grows as values are added, up to five times the compression
+        TDigest large = new TDigest();
+        for (int i = 0; i < 10_000; i++) {
+            large.add(i);
+            assertTrue(large.bufferCapacity() <= 5 * TDigest.DEFAULT_COMPRESSION);
+        }
+        assertEquals(500, large.bufferCapacity());
+        assertEquals(10_000, large.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void percentileOutOfRange() {
+        percentileApprox("x", 101);
+    }
+}
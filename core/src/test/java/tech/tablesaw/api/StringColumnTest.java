@@ -17,6 +17,7 @@ package tech.tablesaw.api;
 import org.junit.Before;
 import org.junit.Test;
 import tech.tablesaw.TestDataUtil;
+import tech.tablesaw.columns.strings.DictionaryMap;
 import tech.tablesaw.columns.strings.StringColumnFormatter;
 import tech.tablesaw.selection.Selection;
 
@@ -497,4 +498,14 @@ TODO: fix
         assertEquals("foo bam", result.get(0));
         assertEquals("bar bam", result.get(1));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void dictionaryKeys() {
+        StringColumn column = StringColumn.create("words", new String[] {"foo", "bar", "foo"});
+        assertEquals(column.getKeyForIndex(0), column.getKeyForIndex(2));
+        assertNotEquals(column.getKeyForIndex(0), column.getKeyForIndex(1));
+        assertEquals(column.getKeyForIndex(1), column.getKeyForValue("bar"));
+        assertEquals("foo", column.getValueForKey(column.getKeyForIndex(0)));
+        assertEquals(DictionaryMap.NO_KEY, column.getKeyForValue("baz"));
+    }
+}
@@ -61,7 +61,7 @@ public class TableTest {
         Table result = table.summarize(mean("Injuries"), stdDev("Injuries")).by("State");
         assertEquals(49, result.rowCount());
         assertEquals(3, result.columnCount());
-        Assert.assertEquals("4.580805569368455", result.column(1).getString(0));
+        Assert.assertEquals(4.580805569368455, result.doubleColumn(1).get(0), 1e-12);
     }
 
     @Test
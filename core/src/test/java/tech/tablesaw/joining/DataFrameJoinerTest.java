@@ -2,9 +2,26 @@ package tech.tablesaw.joining;
 
 import com.google.common.base.Joiner;
 import org.junit.Test;
+import tech.tablesaw.aggregate.AggregateFunctions;
+import tech.tablesaw.api.DateTimeColumn;
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.IntColumn;
+import tech.tablesaw.api.LongColumn;
+import tech.tablesaw.api.ShortColumn;
+import tech.tablesaw.api.StringColumn;
 import tech.tablesaw.api.Table;
+import tech.tablesaw.columns.Column;
+import tech.tablesaw.selection.Selection;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.Assert.*;
 
@@ -474,7 +491,7 @@ public class DataFrameJoinerTest {
     @Test
     public void leftOuterJoinWithDoubles4() {
         Table joined = DOUBLE_INDEXED_DOGS.join("ID").leftOuter(DOUBLE_INDEXED_PEOPLE, DOUBLE_INDEXED_CATS);
-        assertEquals(3, joined.columnCount());
+        assertEquals(4, joined.columnCount());
         assertEquals(4, joined.rowCount());
         assertEquals(4, joined.column("ID").size());
     }
@@ -1110,4 +1127,418 @@ public class DataFrameJoinerTest {
         assertEquals(10, joined.columnCount());
         assertEquals(8, joined.rowCount());
     }
+
+    @Test
+    public void innerJoinDuplicateKeysBothTables() {
+        Table names = Table.read().csv(Joiner.on(System.lineSeparator()).join(
+                "Animal,Name",
+                "Pig,Bob",
+                "Horse,David",
+                "Pig,James"),
+                "Animal Names");
+        Table feed = Table.read().csv(Joiner.on(System.lineSeparator()).join(
+                "Animal,Feed",
+                "Pig,Mush",
+                "Goat,Anything",
+                "Pig,Corn"),
+                "Animal Feed");
+        Table joined = names.join("Animal").inner(feed, "Animal");
+        assertEquals(4, joined.rowCount());
+        assertEquals(Arrays.asList("Bob", "Bob", "James", "James"), joined.stringColumn("Name").asList());
+        assertEquals(Arrays.asList("Mush", "Corn", "Mush", "Corn"), joined.stringColumn("Feed").asList());
+    }
+
+    @Test
+    public void leftOuterJoinGathersValuesInLeftTableOrder() {
+        Table joined = SP500.join("Date").leftOuter(ONE_YEAR, "Date");
+        assertEquals(SP500.dateColumn("Date").asList(), joined.dateColumn("Date").asList());
+        assertEquals(SP500.column("S&P 500").asList(), joined.column("S&P 500").asList());
+        assertEquals(ONE_YEAR.column("1 Yr Treasury Rate").get(1), joined.column("1 Yr Treasury Rate").get(0));
+        assertTrue(joined.column("1 Yr Treasury Rate").isMissing(5));
+    }
+
+    @Test
+    public void innerJoinOnSortedKeys() {
+        Table left = Table.create("Left",
+                IntColumn.create("ID", new int[] {1, 2, 2, 4, 6}),
+                StringColumn.create("Name", new String[] {"a", "b", "c", "d", "e"}));
+        Table right = Table.create("Right",
+                IntColumn.create("ID", new int[] {2, 2, 3, 4, 5}),
+                StringColumn.create("Value", new String[] {"v", "w", "x", "y", "z"}));
+        assertTrue(SortMergeJoin.canJoin(new Column<?>[] {left.column("ID")}, new Column<?>[] {right.column("ID")}));
+
+        Table joined = left.join("ID").inner(right, "ID");
+        assertEquals(Arrays.asList(2, 2, 2, 2, 4), joined.intColumn("ID").asList());
+        assertEquals(Arrays.asList("b", "b", "c", "c", "d"), joined.stringColumn("Name").asList());
+        assertEquals(Arrays.asList("v", "w", "v", "w", "y"), joined.stringColumn("Value").asList());
+    }
+
+    @Test
+    public void leftOuterJoinOnSortedKeys() {
+        Table left = Table.create("Left",
+                IntColumn.create("ID", new int[] {1, 2, 2, 4, 6}),
+                StringColumn.create("Name", new String[] {"a", "b", "c", "d", "e"}));
+        Table right = Table.create("Right",
+                IntColumn.create("ID", new int[] {2, 3, 4, 4}),
+                StringColumn.create("Value", new String[] {"w", "x", "y", "z"}));
+
+        Table joined = left.join("ID").leftOuter(right, "ID");
+        assertEquals(Arrays.asList(1, 2, 2, 4, 4, 6), joined.intColumn("ID").asList());
+        assertEquals(Arrays.asList("", "w", "w", "y", "z", ""), joined.stringColumn("Value").asList());
+    }
+
+    @Test
+    public void parallelJoinMatchesSerialJoin() {
+        Random random = new Random(42);
+        int[] leftIds = new int[1000];
+        int[] leftValues = new int[1000];
+        for (int i = 0; i < leftIds.length; i++) {
+            leftIds[i] = random.nextInt(300);
+            leftValues[i] = i;
+        }
+        int[] rightIds = new int[500];
+        String[] rightNames = new String[500];
+        for (int i = 0; i < rightIds.length; i++) {
+            rightIds[i] = random.nextInt(400);
+            rightNames[i] = "name" + i;
+        }
+        Table left = Table.create("Left", IntColumn.create("ID", leftIds), IntColumn.create("Value", leftValues));
+        Table right = Table.create("Right", IntColumn.create("ID", rightIds), StringColumn.create("Name", rightNames));
+
+        Table serialInner = left.join("ID").inner(right, "ID");
+        Table parallelInner = left.join("ID").parallel(4).inner(right, "ID");
+        assertEquals(serialInner.rowCount(), parallelInner.rowCount());
+        for (String name : serialInner.columnNames()) {
+            assertEquals(serialInner.column(name).asList(), parallelInner.column(name).asList());
+        }
+
+        Table serialLeft = left.join("ID").leftOuter(right, "ID");
+        Table parallelLeft = left.join("ID").parallel(3).leftOuter(right, "ID");
+        assertEquals(serialLeft.rowCount(), parallelLeft.rowCount());
+        for (String name : serialLeft.columnNames()) {
+            assertEquals(serialLeft.column(name).asList(), parallelLeft.column(name).asList());
+        }
+    }
+
+    @Test
+    public void innerJoinOnPackedCompositeKey() {
+        Table sales = Table.create("Sales",
+                ShortColumn.create("Store", new short[] {1, 1, 2, -1, 2}),
+                IntColumn.create("Day", new int[] {-1, 2, 2, 1, 3}),
+                IntColumn.create("Amount", new int[] {10, 20, 30, 40, 50}));
+        Table targets = Table.create("Targets",
+                ShortColumn.create("Store", new short[] {2, 1, -1, 1}),
+                IntColumn.create("Day", new int[] {2, -1, 1, 1}),
+                IntColumn.create("Target", new int[] {100, 200, 300, 400}));
+        assertTrue(JoinIndex.isPackable(new Column<?>[] {targets.column("Store"), targets.column("Day")}));
+
+        Table joined = sales.join("Store", "Day").inner(targets, new String[] {"Store", "Day"});
+        assertEquals(Arrays.asList(10, 30, 40), joined.intColumn("Amount").asList());
+        assertEquals(Arrays.asList(200, 100, 300), joined.intColumn("Target").asList());
+    }
+
+    @Test
+    public void semiJoin() {
+        Selection selection = ANIMAL_NAMES.join("Animal").semi(ANIMAL_FEED);
+        assertArrayEquals(new int[] {0, 1, 2, 3}, selection.toArray());
+
+        Table left = createHOUSE();
+        Table right = createBOAT();
+        selection = left.join("Bedrooms", "Owner").semi(right, "Bedrooms", "Owner");
+        assertArrayEquals(new int[] {0, 2}, selection.toArray());
+    }
+
+    @Test
+    public void antiJoin() {
+        Selection selection = ANIMAL_NAMES.join("Animal").anti(ANIMAL_FEED);
+        assertEquals(Arrays.asList("Tigon", "Rabbit"), ANIMAL_NAMES.where(selection).stringColumn("Animal").asList());
+
+        Table left = createHOUSE();
+        Table right = createBOAT();
+        selection = left.join("Bedrooms", "Owner").anti(right, "Bedrooms", "Owner");
+        assertArrayEquals(new int[] {1, 3}, selection.toArray());
+    }
+
+    @Test
+    public void asOfJoin() {
+        LocalDateTime nine = LocalDateTime.of(2018, 6, 1, 9, 0);
+        Table quotes = Table.create("Quotes",
+                StringColumn.create("Symbol", new String[] {"A", "B", "A", "B", "A"}),
+                DateTimeColumn.create("Time", new LocalDateTime[] {
+                        nine, nine.plusMinutes(1), nine.plusMinutes(2), nine.plusMinutes(3), nine.plusMinutes(5)}),
+                DoubleColumn.create("Bid", new double[] {1, 10, 2, 20, 3}));
+        Table trades = Table.create("Trades",
+                StringColumn.create("Symbol", new String[] {"A", "B", "A", "B"}),
+                DateTimeColumn.create("Time", new LocalDateTime[] {
+                        nine.plusMinutes(4), nine, nine.plusMinutes(2), nine.plusMinutes(4)}),
+                LongColumn.create("Qty", new long[] {100, 200, 300, 400}));
+
+        Table joined = trades.join("Time").asOf(quotes.select("Time", "Bid"));
+        assertEquals(4, joined.rowCount());
+        assertArrayEquals(new long[] {100, 200, 300, 400}, ((LongColumn) joined.column("Qty")).asLongArray());
+        assertArrayEquals(new double[] {20, 1, 2, 20}, joined.doubleColumn("Bid").asDoubleArray(), 0.0);
+
+        joined = trades.join("Symbol", "Time").asOf(quotes);
+        assertArrayEquals(new double[] {2, Double.NaN, 2, 20}, joined.doubleColumn("Bid").asDoubleArray(), 0.0);
+
+        joined = trades.join("Symbol", "Time").asOf(quotes, Duration.ofMinutes(1), "Symbol", "Time");
+        assertArrayEquals(new double[] {Double.NaN, Double.NaN, 2, 20}, joined.doubleColumn("Bid").asDoubleArray(), 0.0);
+    }
+
+    @Test
+    public void asOfJoinOnLongKeys() {
+        Table right = Table.create("Right",
+                LongColumn.create("Tick", new long[] {10, 20, 30}),
+                StringColumn.create("Price", new String[] {"a", "b", "c"}));
+        Table left = Table.create("Left", LongColumn.create("Tick", new long[] {5, 10, 25, 39, 40}));
+
+        assertEquals(Arrays.asList("", "a", "b", "c", "c"),
+                left.join("Tick").asOf(right).stringColumn("Price").asList());
+        assertEquals(Arrays.asList("", "a", "b", "c", ""),
+                left.join("Tick").asOf(right, 9, "Tick").stringColumn("Price").asList());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void asOfJoinRejectsOtherKeyTypes() {
+        ANIMAL_NAMES.join("Animal").asOf(ANIMAL_FEED);
+    }
+
+    @Test
+    public void betweenJoin() {
+        Table bands = Table.create("Bands",
+                IntColumn.create("Low", new int[] {0, 10, 5, 20}),
+                IntColumn.create("High", new int[] {9, 19, 15, 20}),
+                StringColumn.create("Band", new String[] {"low", "mid", "overlap", "point"}));
+        Table prices = Table.create("Prices", IntColumn.create("Price", new int[] {12, 3, 20, 25, 5}));
+
+        Table joined = prices.join("Price").between(bands, "Low", "High");
+        assertEquals(Arrays.asList(12, 12, 3, 20, 5, 5), joined.intColumn("Price").asList());
+        assertEquals(Arrays.asList("mid", "overlap", "low", "point", "low", "overlap"),
+                joined.stringColumn("Band").asList());
+        assertEquals(4, joined.columnCount());
+    }
+
+    @Test
+    public void inequalityJoinsMatchFilteredCrossProduct() {
+        Random random = new Random(7);
+        int[] xs = new int[200];
+        int[] ys = new int[100];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = random.nextInt(50);
+        }
+        for (int i = 0; i < ys.length; i++) {
+            ys[i] = random.nextInt(50);
+        }
+        Table left = Table.create("Left", IntColumn.create("X", xs));
+        Table right = Table.create("Right", IntColumn.create("Y", ys));
+
+        int lessThan = 0;
+        int lessThanOrEqualTo = 0;
+        for (int x : xs) {
+            for (int y : ys) {
+                lessThan += x < y ? 1 : 0;
+                lessThanOrEqualTo += x <= y ? 1 : 0;
+            }
+        }
+        int total = xs.length * ys.length;
+        assertEquals(lessThan, left.join("X").lessThan(right, "Y").rowCount());
+        assertEquals(lessThanOrEqualTo, left.join("X").lessThanOrEqualTo(right, "Y").rowCount());
+        assertEquals(total - lessThanOrEqualTo, left.join("X").greaterThan(right, "Y").rowCount());
+        assertEquals(total - lessThan, left.join("X").greaterThanOrEqualTo(right, "Y").rowCount());
+
+        Table joined = left.join("X").lessThan(right, "Y");
+        for (int row = 0; row < joined.rowCount(); row++) {
+            assertTrue(joined.intColumn("X").getInt(row) < joined.intColumn("Y").getInt(row));
+        }
+    }
+
+    @Test
+    public void rangeJoinsRenameDuplicateColumns() {
+        Table left = Table.create("Left",
+                IntColumn.create("ts", new int[] {1, 5}),
+                StringColumn.create("Name", new String[] {"a", "b"}));
+        Table right = Table.create("Right",
+                IntColumn.create("ts", new int[] {3, 6}),
+                StringColumn.create("Name", new String[] {"x", "y"}));
+
+        Table joined = left.join("ts").lessThan(right, "ts", true);
+        assertEquals(4, joined.columnCount());
+        assertEquals(Arrays.asList(1, 1, 5), joined.intColumn("ts").asList());
+        assertEquals(Arrays.asList("a", "a", "b"), joined.stringColumn("Name").asList());
+        assertTrue(joined.column(2).name().endsWith(".ts"));
+        assertEquals(Arrays.asList(3, 6, 6), joined.intColumn(2).asList());
+        assertTrue(joined.column(3).name().endsWith(".Name"));
+        assertEquals(Arrays.asList("x", "y", "y"), joined.stringColumn(3).asList());
+
+        Table bands = Table.create("Bands",
+                IntColumn.create("ts", new int[] {0}),
+                IntColumn.create("High", new int[] {4}));
+        Table between = left.join("ts").between(bands, "ts", "High", true);
+        assertEquals(Arrays.asList(1), between.intColumn("ts").asList());
+        assertEquals(Arrays.asList(0), between.intColumn(2).asList());
+    }
+
+    @Test
+    public void innerJoinOnDictionaryKeys() {
+        // the right column has enough distinct values to need short keys, and assigns them in a different order
+        StringColumn rightKeys = StringColumn.create("Key");
+        IntColumn rightValues = IntColumn.create("Value");
+        for (int i = 300; i > 0; i--) {
+            rightKeys.append("k" + i);
+            rightValues.append(i);
+        }
+        rightKeys.append("k2");
+        rightValues.append(-2);
+        rightKeys.appendMissing();
+        rightValues.append(0);
+        Table right = Table.create("Right", rightKeys, rightValues);
+        Table left = Table.create("Left",
+                StringColumn.create("Key", new String[] {"k2", "nope", "k300", "", "k1"}));
+
+        Table joined = left.join("Key").inner(right, "Key");
+        assertEquals(Arrays.asList("k2", "k2", "k300", "", "k1"), joined.stringColumn("Key").asList());
+        assertEquals(Arrays.asList(2, -2, 300, 0, 1), joined.intColumn("Value").asList());
+
+        Table outer = left.join("Key").leftOuter(right, "Key");
+        assertEquals(6, outer.rowCount());
+        assertEquals("nope", outer.stringColumn("Key").get(2));
+        assertTrue(outer.intColumn("Value").isMissing(2));
+    }
+
+    @Test
+    public void joinWithPrebuiltIndex() throws Exception {
+        JoinIndex index = new JoinIndex(ANIMAL_FEED, "Animal");
+        assertEquals(Arrays.asList("Animal"), index.columnNames());
+
+        Table expected = ANIMAL_NAMES.join("Animal").inner(ANIMAL_FEED, "Animal");
+        Table joined = ANIMAL_NAMES.join("Animal").inner(index);
+        assertEquals(expected.rowCount(), joined.rowCount());
+        assertEquals(expected.stringColumn("Feed").asList(), joined.stringColumn("Feed").asList());
+        assertEquals(ANIMAL_NAMES.rowCount(), ANIMAL_NAMES.join("Animal").leftOuter(index).rowCount());
+
+        // an index over some of the rows, as used by the parallel join, knows its table and columns too
+        JoinIndex partial = new JoinIndex(ANIMAL_FEED, new String[] {"Animal"}, new int[] {0, 1}, 0, 2);
+        assertEquals(Arrays.asList("Animal"), partial.columnNames());
+        assertSame(ANIMAL_FEED, partial.table());
+        assertEquals(ANIMAL_NAMES.rowCount(), ANIMAL_NAMES.join("Animal").leftOuter(partial).rowCount());
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Table>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> ANIMAL_NAMES.join("Animal").inner(index)));
+            }
+            for (Future<Table> result : results) {
+                assertEquals(expected.stringColumn("Feed").asList(), result.get().stringColumn("Feed").asList());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void fullOuterJoinAppendsUnmatchedRightRows() {
+        Table left = Table.create("Left",
+                IntColumn.create("Id", new int[] {1, 2, 3}),
+                StringColumn.create("L", new String[] {"a", "b", "c"}));
+        Table right = Table.create("Right",
+                IntColumn.create("Key", new int[] {4, 2, 5, 2}),
+                StringColumn.create("R", new String[] {"w", "x", "y", "z"}));
+
+        Table joined = left.join("Id").fullOuter(left, right, false, "Key");
+        assertEquals(Arrays.asList(1, 2, 2, 3, 4, 5), joined.intColumn("Id").asList());
+        assertEquals(Arrays.asList("a", "b", "b", "c", "", ""), joined.stringColumn("L").asList());
+        assertEquals(Arrays.asList("", "x", "z", "", "w", "y"), joined.stringColumn("R").asList());
+    }
+
+    @Test
+    public void bloomFilter() {
+        Random random = new Random(11);
+        int[] factKeys = new int[10_000];
+        for (int i = 0; i < factKeys.length; i++) {
+            factKeys[i] = random.nextInt(100_000);
+        }
+        int[] dimensionKeys = new int[500];
+        for (int i = 0; i < dimensionKeys.length; i++) {
+            dimensionKeys[i] = i * 200;
+        }
+        Table facts = Table.create("Facts", IntColumn.create("Key", factKeys));
+        Table dimension = Table.create("Dimension",
+                IntColumn.create("Key", dimensionKeys),
+                IntColumn.create("Value", dimensionKeys));
+
+        Selection exact = facts.join("Key").semi(dimension);
+        Selection mayMatch = facts.join("Key").mayMatch(dimension);
+        for (int row : exact) {
+            assertTrue(mayMatch.contains(row));
+        }
+        assertTrue(mayMatch.size() < exact.size() + facts.rowCount() / 20);
+
+        Table expected = facts.join("Key").inner(dimension, "Key");
+        Table filtered = facts.join("Key").bloomFilter(true).inner(dimension, "Key");
+        assertEquals(expected.intColumn("Key").asList(), filtered.intColumn("Key").asList());
+        assertEquals(facts.rowCount(), facts.join("Key").bloomFilter(true).leftOuter(dimension, "Key").rowCount());
+
+        Table parallel = facts.join("Key").bloomFilter(true).parallel(4).inner(dimension, "Key");
+        assertEquals(expected.intColumn("Key").asList(), parallel.intColumn("Key").asList());
+        assertEquals(facts.rowCount(),
+                facts.join("Key").bloomFilter(true).parallel(4).leftOuter(dimension, "Key").rowCount());
+    }
+
+    @Test
+    public void joinedRelation() {
+        Table expected = ANIMAL_NAMES.join("Animal").inner(ANIMAL_FEED, "Animal");
+        JoinedRelation relation = ANIMAL_NAMES.join("Animal").innerView(ANIMAL_FEED, "Animal");
+        assertEquals(expected.rowCount(), relation.rowCount());
+        assertEquals(expected.columnNames(), relation.columnNames());
+        assertEquals(expected.print(), relation.print());
+
+        Table selected = relation.select("Name", "Feed");
+        assertEquals(2, selected.columnCount());
+        assertEquals(expected.stringColumn("Feed").asList(), selected.stringColumn("Feed").asList());
+
+        Table counts = relation.summarize(AggregateFunctions.countNonMissing("Name")).by("Feed");
+        assertEquals(3, counts.rowCount());
+
+        relation.removeColumns("Name");
+        assertEquals(Arrays.asList("Animal", "Feed"), relation.columnNames());
+
+        JoinedRelation outer = ANIMAL_NAMES.join("Animal").leftOuterView(ANIMAL_FEED, "Animal");
+        assertEquals(ANIMAL_NAMES.rowCount(), outer.rowCount());
+        assertEquals("Rudhrani", outer.getString(4, "Name"));
+        assertEquals("", outer.getString(4, "Feed"));
+    }
+
+    @Test
+    public void multiTableJoinPlan() {
+        DoubleColumn baseIds = DoubleColumn.create("ID");
+        DoubleColumn wideIds = DoubleColumn.create("ID");
+        DoubleColumn wideValues = DoubleColumn.create("Wide");
+        for (int i = 0; i < 100; i++) {
+            baseIds.append(i);
+            for (int j = 0; j < 10; j++) {
+                wideIds.append(i);
+                wideValues.append(j);
+            }
+        }
+        Table base = Table.create("Base", baseIds);
+        Table wide = Table.create("Wide", wideIds, wideValues);
+        Table narrow = Table.create("Narrow",
+                DoubleColumn.create("ID", new double[] {3, 7}),
+                DoubleColumn.create("Narrow", new double[] {30, 70}));
+
+        JoinPlan plan = base.join("ID").innerPlan(wide, narrow);
+        assertEquals(Arrays.asList(narrow, wide), plan.tables());
+        assertEquals(2, plan.estimatedRows(1));
+        assertEquals(20, plan.estimatedRows(2));
+        assertTrue(plan.toString().contains("1. join Narrow"));
+
+        Table joined = base.join("ID").inner(wide, narrow);
+        assertEquals(Arrays.asList("ID", "Wide", "Narrow"), joined.columnNames());
+        assertEquals(20, joined.rowCount());
+
+        Table outer = base.join("ID").leftOuter(wide, narrow);
+        assertEquals(Arrays.asList("ID", "Wide", "Narrow"), outer.columnNames());
+        assertEquals(1000, outer.rowCount());
+    }
 }
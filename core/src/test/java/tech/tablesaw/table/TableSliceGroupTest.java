@@ -15,18 +15,42 @@
 package tech.tablesaw.table;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static tech.tablesaw.aggregate.AggregateFunctions.*;
 
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.function.UnaryOperator;
 
 import org.apache.commons.math3.stat.StatUtils;
 import org.junit.Before;
 import org.junit.Test;
 
 import tech.tablesaw.aggregate.NumericAggregateFunction;
+import tech.tablesaw.api.BooleanColumn;
+import tech.tablesaw.api.ColumnType;
+import tech.tablesaw.api.DateColumn;
+import tech.tablesaw.api.DateTimeColumn;
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.IntColumn;
+import tech.tablesaw.api.LongColumn;
 import tech.tablesaw.api.NumericColumn;
 import tech.tablesaw.api.StringColumn;
 import tech.tablesaw.api.Table;
+import tech.tablesaw.columns.Column;
 import tech.tablesaw.io.csv.CsvReadOptions;
 
 public class TableSliceGroupTest {
@@ -89,4 +113,181 @@ public class TableSliceGroupTest {
         List<Table> tables = group.asTableList();
         assertEquals(6, tables.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void hashGroupingKeepsSortedGroupOrder() {
+        TableSliceGroup group = StandardTableSliceGroup.create(table, "who", "approval");
+        assertSame(table, group.getSourceTable());
+        assertEquals(sortedGroupNames(table, "who", "approval"), sliceNames(group));
+        for (TableSlice slice : group) {
+            String who = slice.stringColumn("who").get(0);
+            for (int row = 0; row < slice.rowCount(); row++) {
+                assertEquals(who, slice.stringColumn("who").get(row));
+            }
+        }
+    }
+
+    @Test
+    public void groupingOnCodes() {
+        Random random = new Random(0);
+        StringColumn strings = StringColumn.create("s");
+        BooleanColumn booleans = BooleanColumn.create("b");
+        IntColumn ints = IntColumn.create("i");
+        LongColumn longs = LongColumn.create("l");
+        DoubleColumn doubles = DoubleColumn.create("d");
+        for (int row = 0; row < 1000; row++) {
+            strings.append("s" + random.nextInt(5));
+            booleans.append(random.nextBoolean());
+            ints.append(random.nextInt(7) - 3);
+            longs.append(random.nextInt(3) * 1_000_000_000_000L);
+            doubles.append(random.nextInt(4));
+        }
+        strings.appendMissing();
+        booleans.append(true);
+        ints.appendMissing();
+        longs.append(5L);
+        doubles.appendMissing();
+        Table codes = Table.create("codes", strings, booleans, ints, longs, doubles);
+
+        // dense array, hash table on combined codes, and hash table on values
+        for (String[] columns : new String[][] {{"s", "b", "i"}, {"s", "l"}, {"b", "d"}}) {
+            TableSliceGroup group = StandardTableSliceGroup.create(codes, columns);
+            assertEquals(sortedGroupNames(codes, columns), sliceNames(group));
+            int count = 0;
+            for (TableSlice slice : group) {
+                count += slice.rowCount();
+            }
+            assertEquals(codes.rowCount(), count);
+        }
+    }
+
+    @Test
+    public void parallelAggregationMatchesSerial() {
+        Random random = new Random(0);
+        StringColumn strings = StringColumn.create("s");
+        IntColumn ints = IntColumn.create("i");
+        DoubleColumn doubles = DoubleColumn.create("d");
+        DoubleColumn values = DoubleColumn.create("value");
+        for (int row = 0; row < 300_000; row++) {
+            strings.append("s" + random.nextInt(20));
+            ints.append(random.nextInt(1000));
+            doubles.append(random.nextInt(50) / 4.0);
+            values.append(random.nextGaussian() * 1000);
+        }
+        Table data = Table.create("data", strings, ints, doubles, values);
+
+        for (String[] columns : new String[][] {{"s"}, {"s", "i"}, {"d"}}) {
+            Table serial = data.summarize(mean("value"), sum("value"), stdDev("value"), max("value"),
+                    median("value")).by(columns);
+            Table parallel = data.summarize(mean("value"), sum("value"), stdDev("value"), max("value"),
+                    median("value")).parallel(4).by(columns);
+            assertEquals(serial.columnNames(), parallel.columnNames());
+            for (int col = 0; col < serial.columnCount(); col++) {
+                assertEquals(serial.column(col).asList(), parallel.column(col).asList());
+            }
+        }
+    }
+
+    @Test
+    public void typedGroupColumns() {
+        DoubleColumn keys = DoubleColumn.create("key", new double[] {1.0 / 3, 0.1 + 0.2, 1.0 / 3, 1e-300});
+        IntColumn ints = IntColumn.create("int", new int[] {7, 8, 7, 9});
+        DoubleColumn values = DoubleColumn.create("value", new double[] {1, 2, 3, 4});
+        Table data = Table.create("data", keys, ints, values);
+
+        Table result = data.summarize(sum("value")).by("key", "int");
+        assertEquals(Arrays.asList("key", "int", "Sum [value]"), result.columnNames());
+        assertSame(ColumnType.DOUBLE, result.column("key").type());
+        assertSame(ColumnType.INTEGER, result.column("int").type());
+        assertEquals(Arrays.asList(1e-300, 0.1 + 0.2, 1.0 / 3), result.doubleColumn("key").asList());
+        assertEquals(Arrays.asList(9, 8, 7), result.intColumn("int").asList());
+        assertEquals(Arrays.asList(4.0, 2.0, 4.0), result.doubleColumn("Sum [value]").asList());
+    }
+
+    @Test
+    public void timeBuckets() {
+        DateTimeColumn time = DateTimeColumn.create("time");
+        DateColumn date = DateColumn.create("date");
+        IntColumn value = IntColumn.create("value");
+        Random random = new Random(0);
+        LocalDateTime start = LocalDateTime.of(1969, 12, 30, 22, 0);
+        for (int i = 0; i < 5000; i++) {
+            LocalDateTime dateTime = start.plusSeconds(random.nextInt(3 * 24 * 3600)).plusNanos(random.nextInt(1000) * 1_000_000L);
+            time.append(dateTime);
+            date.append(dateTime.toLocalDate().plusDays(random.nextInt(90)));
+            value.append(i);
+        }
+        time.appendMissing();
+        date.appendMissing();
+        value.append(-1);
+        Table table = Table.create("events", time, date, value);
+
+        // hours, 15 minute intervals, days and weeks
+        assertBuckets(table, TimeBucket.of("time", Duration.ofHours(1)),
+                dt -> ((LocalDateTime) dt).truncatedTo(ChronoUnit.HOURS));
+        assertBuckets(table, TimeBucket.of("time", Duration.ofMinutes(15)),
+                dt -> ((LocalDateTime) dt).truncatedTo(ChronoUnit.HOURS).plusMinutes(((LocalDateTime) dt).getMinute() / 15 * 15));
+        assertBuckets(table, TimeBucket.of("date", Period.ofDays(1)), d -> d);
+        assertBuckets(table, TimeBucket.of("date", Period.ofWeeks(1)),
+                d -> ((LocalDate) d).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)));
+        assertBuckets(table, TimeBucket.of("date", Period.ofMonths(2)),
+                d -> LocalDate.of(((LocalDate) d).getYear(), (((LocalDate) d).getMonthValue() - 1) / 2 * 2 + 1, 1));
+    }
+
+    /**
+     * Checks that grouping the given table by the given bucket gives the same counts and sums as grouping it on the
+     * start of each row's interval, computed by the given function
+     */
+    private static void assertBuckets(Table table, TimeBucket bucket, UnaryOperator<Object> startOf) {
+        Table result = table.summarize(count("value"), sum("value")).by(bucket);
+        Column<?> column = table.column(bucket.columnName());
+        Map<Object, Double> sums = new TreeMap<>();
+        Map<Object, Integer> counts = new HashMap<>();
+        for (int row = 0; row < table.rowCount(); row++) {
+            if (!column.isMissing(row)) {
+                Object start = startOf.apply(column.get(row));
+                sums.merge(start, (double) table.intColumn("value").get(row), Double::sum);
+                counts.merge(start, 1, Integer::sum);
+            }
+        }
+        assertTrue(result.column(0).isMissing(0));
+        assertEquals(-1, result.doubleColumn(2).get(0), 0);
+        assertEquals(sums.size() + 1, result.rowCount());
+        int row = 1;
+        for (Map.Entry<Object, Double> entry : sums.entrySet()) {
+            assertEquals(bucket.toString(), entry.getKey(), result.column(0).get(row));
+            assertEquals(counts.get(entry.getKey()).intValue(), ((Number) result.column(1).get(row)).intValue());
+            assertEquals(entry.getValue(), result.doubleColumn(2).get(row), 0);
+            row++;
+        }
+    }
+
+    private static List<String> sliceNames(TableSliceGroup group) {
+        List<String> names = new ArrayList<>();
+        for (TableSlice slice : group) {
+            names.add(slice.name());
+        }
+        return names;
+    }
+
+    /**
+     * Returns the names of the groups in the given table, found by sorting it on the given columns
+     */
+    private static List<String> sortedGroupNames(Table table, String... columnNames) {
+        Table sorted = table.sortOn(columnNames);
+        List<String> names = new ArrayList<>();
+        for (int row = 0; row < sorted.rowCount(); row++) {
+            StringBuilder name = new StringBuilder();
+            for (int i = 0; i < columnNames.length; i++) {
+                if (i > 0) {
+                    name.append("~~~");
+                }
+                name.append(sorted.getUnformatted(row, sorted.columnIndex(columnNames[i])));
+            }
+            if (names.isEmpty() || !names.get(names.size() - 1).equals(name.toString())) {
+                names.add(name.toString());
+            }
+        }
+        return names;
+    }
+}